@@ -0,0 +1,11 @@
+package com.assessement.starter.audit;
+
+import java.time.Instant;
+
+public record LoginAuditEvent(
+        Instant occurredAt,
+        String username,
+        boolean success,
+        String failureReason,
+        String clientIp
+) { }
@@ -0,0 +1,207 @@
+package com.assessement.starter.audit;
+
+import com.assessement.starter.config.security.LoginAuditProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Records login attempts without touching the database on the request thread.
+ * <p>
+ * Events go into a bounded queue; a single background writer drains it and inserts rows in JDBC
+ * batches once {@code batch-size} events are pending or {@code flush-interval} has elapsed. When
+ * the queue is full the event is dropped after {@code offer-timeout} and counted, so a slow
+ * database never stalls logins. Pending events are flushed when the context shuts down.
+ */
+@Component
+@Slf4j
+public class LoginAuditRecorder implements SmartLifecycle, MeterBinder {
+
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    private final LoginAuditWriter loginAuditWriter;
+    private final LoginAuditProperties properties;
+    private final BlockingQueue<LoginAuditEvent> queue;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public LoginAuditRecorder(LoginAuditWriter loginAuditWriter, LoginAuditProperties properties) {
+        this.loginAuditWriter = loginAuditWriter;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    public void recordSuccess(String username) {
+        record(username, true, null);
+    }
+
+    public void recordFailure(String username, Exception cause) {
+        record(username, false, cause.getClass().getSimpleName());
+    }
+
+    private void record(String username, boolean success, String failureReason) {
+        if (!this.properties.isEnabled()) return;
+
+        LoginAuditEvent event = new LoginAuditEvent(
+                Instant.now(), truncate(username), success, failureReason, currentClientIp());
+
+        boolean accepted;
+        try {
+            long timeout = this.properties.getOfferTimeout().toNanos();
+            accepted = timeout > 0
+                    ? this.queue.offer(event, timeout, TimeUnit.NANOSECONDS)
+                    : this.queue.offer(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            this.enqueued.incrementAndGet();
+        } else if (this.dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Login audit queue full, {} events dropped so far", this.dropped.get());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!this.properties.isEnabled()) return;
+
+        this.running = true;
+        this.writerThread = new Thread(this::runWriter, "login-audit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        if (this.writerThread == null) return;
+
+        try {
+            this.writerThread.join(this.properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.writerThread.isAlive()) {
+            log.warn("Login audit writer did not finish within {}, {} events pending",
+                    this.properties.getShutdownTimeout(), this.queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    // Started before and stopped after the embedded web server, so in-flight logins still get flushed.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("login.audit.enqueued", this.enqueued, AtomicLong::get).register(registry);
+        FunctionCounter.builder("login.audit.dropped", this.dropped, AtomicLong::get).register(registry);
+        FunctionCounter.builder("login.audit.written", this.written, AtomicLong::get).register(registry);
+        FunctionCounter.builder("login.audit.failed", this.failed, AtomicLong::get).register(registry);
+        Gauge.builder("login.audit.queue.size", this.queue, BlockingQueue::size).register(registry);
+    }
+
+    public long getEnqueuedCount() {
+        return this.enqueued.get();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    public long getWrittenCount() {
+        return this.written.get();
+    }
+
+    public long getFailedCount() {
+        return this.failed.get();
+    }
+
+    private void runWriter() {
+        int batchSize = this.properties.getBatchSize();
+        long flushInterval = this.properties.getFlushInterval().toNanos();
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushInterval;
+
+        while (this.running) {
+            try {
+                LoginAuditEvent event = this.queue.poll(
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    this.queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (batch.size() >= batchSize || deadline - System.nanoTime() <= 0) {
+                flush(batch);
+                deadline = System.nanoTime() + flushInterval;
+            }
+        }
+
+        do {
+            this.queue.drainTo(batch, batchSize - batch.size());
+            flush(batch);
+        } while (!this.queue.isEmpty());
+    }
+
+    private void flush(List<LoginAuditEvent> batch) {
+        if (batch.isEmpty()) return;
+
+        try {
+            this.loginAuditWriter.write(batch);
+            this.written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            this.failed.addAndGet(batch.size());
+            log.warn("Failed to write {} login audit events: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static String truncate(String username) {
+        if (username == null || username.length() <= MAX_USERNAME_LENGTH) return username;
+        return username.substring(0, MAX_USERNAME_LENGTH);
+    }
+
+    private static String currentClientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return request.getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.assessement.starter.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LoginAuditWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO login_audit (occurred_at, username, success, failure_reason, client_ip)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void write(List<LoginAuditEvent> events) {
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                LoginAuditEvent event = events.get(i);
+                ps.setTimestamp(1, Timestamp.from(event.occurredAt()));
+                ps.setString(2, event.username());
+                ps.setBoolean(3, event.success());
+                ps.setString(4, event.failureReason());
+                ps.setString(5, event.clientIp());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+}
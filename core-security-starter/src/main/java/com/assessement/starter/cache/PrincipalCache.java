@@ -0,0 +1,149 @@
+package com.assessement.starter.cache;
+
+import com.assessement.starter.config.security.PrincipalCacheProperties;
+import com.assessement.starter.config.security.UserLookupProperties;
+import com.assessement.starter.model.UserPrincipal;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Node-local cache of loaded principals, keyed by case-insensitive username. Entries are immutable
+ * {@link UserPrincipal} snapshots, never the JPA entity, so they can be shared across threads.
+ * <p>
+ * Entries expire after {@code app.security.principal-cache.ttl} and are evicted early by
+ * {@link PrincipalInvalidationPoller} when a user or role change event is seen. Independently of
+ * that, the last loaded snapshot of each principal is kept for
+ * {@code app.security.user-lookup.stale-window} so it can be served while the database is
+ * unavailable; invalidations drop snapshots too.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final PrincipalCacheProperties properties;
+    private final UserLookupProperties lookupProperties;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Entry> snapshots = new ConcurrentHashMap<>();
+    // bumped per stripe of usernames, so an eviction only discards concurrent loads of that stripe
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public UserDetails get(String username) {
+        if (!this.properties.isEnabled() || username == null) return null;
+
+        Entry entry = this.entries.get(key(username));
+        if (entry == null) return null;
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            this.entries.remove(key(username), entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    /** The last principal loaded for this user, if it is still within the stale window. */
+    public UserDetails lastKnown(String username) {
+        if (username == null) return null;
+
+        Entry snapshot = this.snapshots.get(key(username));
+        if (snapshot == null) return null;
+        if (snapshot.expiresAt() - System.nanoTime() <= 0) {
+            this.snapshots.remove(key(username), snapshot);
+            return null;
+        }
+        return snapshot.user();
+    }
+
+    /**
+     * Snapshot to take before loading a principal from the database; pass it back to
+     * {@link #put(String, UserDetails, long)} so a load that raced with an invalidation of the same
+     * user is not cached.
+     */
+    public long generation(String username) {
+        if (username == null) return 0;
+        return this.generations.get(stripe(key(username)));
+    }
+
+    /** Caches an immutable {@link UserPrincipal} snapshot of the given user. */
+    public void put(String username, UserDetails user, long generation) {
+        if (username == null) return;
+        UserPrincipal principal = UserPrincipal.from(user);
+        long now = System.nanoTime();
+
+        if (this.properties.isEnabled()) {
+            makeRoom(this.entries, this.properties.getMaxEntries(), now);
+            this.entries.put(key(username), new Entry(principal, now + this.properties.getTtl().toNanos()));
+        }
+        if (keepsSnapshots()) {
+            makeRoom(this.snapshots, this.lookupProperties.getMaxSnapshots(), now);
+            this.snapshots.put(key(username), new Entry(principal, now + this.lookupProperties.getStaleWindow().toNanos()));
+        }
+
+        if (this.generations.get(stripe(key(username))) != generation) {
+            this.entries.remove(key(username));
+            this.snapshots.remove(key(username));
+        }
+    }
+
+    public void evict(String username) {
+        this.generations.incrementAndGet(stripe(key(username)));
+        this.entries.remove(key(username));
+        this.snapshots.remove(key(username));
+    }
+
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            this.generations.incrementAndGet(i);
+        }
+        this.entries.clear();
+        this.snapshots.clear();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    boolean keepsSnapshots() {
+        return this.lookupProperties.isEnabled() && this.lookupProperties.getStaleWindow().toNanos() > 0;
+    }
+
+    // A full map drops expired entries, or else the soonest-expiring one, from a small sample rather
+    // than scanning every entry on the request thread.
+    private static void makeRoom(ConcurrentHashMap<String, Entry> map, int maxEntries, long now) {
+        if (map.size() < maxEntries) return;
+
+        String victim = null;
+        long soonest = Long.MAX_VALUE;
+        boolean removedExpired = false;
+        Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+        for (int i = 0; i < 8 && it.hasNext(); i++) {
+            Map.Entry<String, Entry> candidate = it.next();
+            long expiresAt = candidate.getValue().expiresAt();
+            if (expiresAt - now <= 0) {
+                it.remove();
+                removedExpired = true;
+            } else if (expiresAt - soonest < 0) {
+                soonest = expiresAt;
+                victim = candidate.getKey();
+            }
+        }
+        if (!removedExpired && victim != null) map.remove(victim);
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(UserPrincipal user, long expiresAt) { }
+}
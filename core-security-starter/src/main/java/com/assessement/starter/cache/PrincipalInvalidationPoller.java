@@ -0,0 +1,174 @@
+package com.assessement.starter.cache;
+
+import com.assessement.starter.config.security.OpaqueTokenStore;
+import com.assessement.starter.config.security.PrincipalCacheProperties;
+import com.assessement.starter.config.security.TokenProperties;
+import com.assessement.starter.model.UserChangeEvent;
+import com.assessement.starter.repository.UserChangeEventRepository;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tails the {@code user_change_events} table by sequence number, evicts the affected principals
+ * from this node's {@link PrincipalCache} and revokes their opaque tokens.
+ * <p>
+ * Identity values can become visible out of order when concurrent transactions commit, so the
+ * cursor only moves past a gap in the sequence once it has been open for
+ * {@code gap-grace-period}. Events after a held gap are re-read on the next poll; evicting twice
+ * is harmless. Events older than {@code event-retention} are deleted in the background; it must
+ * stay well above the poll interval and gap grace period so no node misses an event.
+ * <p>
+ * The poller runs whenever something consumes the events: the principal cache, the stale
+ * snapshots kept for degraded lookups, or opaque tokens. None of them may depend on whether
+ * principals are cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalInvalidationPoller implements SmartLifecycle {
+
+    private final UserChangeEventRepository userChangeEventRepository;
+    private final PrincipalCache principalCache;
+    private final OpaqueTokenStore opaqueTokenStore;
+    private final PrincipalCacheProperties properties;
+    private final TokenProperties tokenProperties;
+
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    private volatile long cursor;
+    private long gapDetectedAt = -1;
+
+    @Override
+    public void start() {
+        if (!hasConsumers()) return;
+
+        this.cursor = this.userChangeEventRepository.findMaxSequence();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "principal-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = this.properties.getPollInterval().toMillis();
+        this.executor.scheduleWithFixedDelay(this::pollQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        long retention = this.properties.getEventRetention().toMillis();
+        this.executor.scheduleWithFixedDelay(this::purgeQuietly, retention, retention, TimeUnit.MILLISECONDS);
+        this.running = true;
+        log.info("Principal invalidation poller started at sequence {}", this.cursor);
+    }
+
+    @Override
+    public void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Reads the next batch of change events and evicts the affected principals.
+     *
+     * @return the number of events read
+     */
+    public int poll() {
+        this.pollLock.lock();
+        try {
+            List<UserChangeEvent> events = this.userChangeEventRepository
+                    .findBySequenceGreaterThanOrderBySequenceAsc(
+                            this.cursor, PageRequest.of(0, this.properties.getPollBatchSize()));
+
+            Set<String> usernames = new HashSet<>();
+            events.forEach(event -> {
+                this.principalCache.evict(event.getUsername());
+                usernames.add(event.getUsername());
+            });
+            this.opaqueTokenStore.revokeUsers(usernames);
+            advanceCursor(events);
+            return events.size();
+        } finally {
+            this.pollLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes change events older than {@code event-retention}. Every node may run it; the delete is
+     * idempotent.
+     *
+     * @return the number of events deleted
+     */
+    public int purgeExpiredEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(this.properties.getEventRetention());
+        return this.userChangeEventRepository.deleteCreatedBefore(cutoff);
+    }
+
+    public long getCursor() {
+        return this.cursor;
+    }
+
+    private boolean hasConsumers() {
+        return this.properties.isEnabled()
+                || this.principalCache.keepsSnapshots()
+                || this.tokenProperties.getMode() == TokenProperties.TokenMode.OPAQUE;
+    }
+
+    private void advanceCursor(List<UserChangeEvent> events) {
+        long now = System.currentTimeMillis();
+        long next = this.cursor;
+
+        for (UserChangeEvent event : events) {
+            if (event.getSequence() > next + 1) {
+                if (this.gapDetectedAt < 0) this.gapDetectedAt = now;
+                if (now - this.gapDetectedAt < this.properties.getGapGracePeriod().toMillis()) {
+                    this.cursor = next;
+                    return;
+                }
+                log.debug("Skipping sequence gap {}..{}", next + 1, event.getSequence() - 1);
+                this.gapDetectedAt = -1;
+            }
+            next = event.getSequence();
+        }
+
+        this.cursor = next;
+        this.gapDetectedAt = -1;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = purgeExpiredEvents();
+            if (deleted > 0) log.debug("Deleted {} expired user change events", deleted);
+        } catch (RuntimeException e) {
+            log.warn("User change event purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            long before;
+            int read;
+            do {
+                before = this.cursor;
+                read = poll();
+            } while (read == this.properties.getPollBatchSize() && this.cursor > before);
+        } catch (RuntimeException e) {
+            log.warn("Principal invalidation poll failed: {}", e.getMessage());
+        }
+    }
+}
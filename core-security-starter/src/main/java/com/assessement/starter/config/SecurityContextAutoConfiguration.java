@@ -0,0 +1,27 @@
+package com.assessement.starter.config;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Registered through {@code META-INF/spring/...AutoConfiguration.imports} rather than component
+ * scanning, so the {@link ConditionalOnMissingBean} check runs after the application's own beans
+ * are known: declaring a {@link TaskDecorator} bean replaces this one.
+ */
+@AutoConfiguration(before = TaskExecutionAutoConfiguration.class)
+public class SecurityContextAutoConfiguration {
+
+    /**
+     * Applied by Spring Boot to its auto-configured task executors (virtual-thread ones included),
+     * so work handed off from a request keeps the caller's {@code SecurityContext}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
@@ -1,5 +1,7 @@
 package com.assessement.starter.config.security;
 
+import com.assessement.starter.resilience.UserLookupUnavailableException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final OpaqueTokenStore opaqueTokenStore;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,21 +35,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        String jwt;
-        String username;
+        String token;
 
         if(authHeader == null || !authHeader.startsWith("Bearer ")){
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = this.jwtService.extractUsernameFromToken(jwt);
+        token = authHeader.substring(7);
 
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if(SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails;
+            try {
+                userDetails = OpaqueTokenStore.isOpaqueToken(token)
+                        ? this.opaqueTokenStore.lookup(token)
+                        : resolveJwtPrincipal(token);
+            } catch (UserLookupUnavailableException e) {
+                // Database degraded and no recent principal snapshot: ask the client to retry
+                log.warn("Rejecting request, user lookup unavailable: {}", e.getMessage());
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setContentType("application/json");
+                response.getWriter().write("""
+                    {
+                      "status": "503",
+                      "message": "User lookup temporarily unavailable"
+                    }
+                """);
+                return;
+            }
 
-            if(this.jwtService.isTokenValid(jwt)) {
+            if(userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -72,4 +90,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             );
         }
     }
+
+    private UserDetails resolveJwtPrincipal(String jwt) {
+        String username;
+        try {
+            username = this.jwtService.extractUsernameFromToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Unreadable token: continue unauthenticated so the entry point answers 401
+            return null;
+        }
+        if(username == null) return null;
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        return this.jwtService.isTokenValid(jwt) ? userDetails : null;
+    }
 }
@@ -1,14 +1,12 @@
 package com.assessement.starter.config.security;
 
-import com.assessement.starter.model.User;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import java.security.Key;
-import java.util.Date;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,29 +14,15 @@ import org.springframework.stereotype.Service;
 public class JwtService {
 
     private final JwtProperties jwtProperties;
+    private final JwtTokenIssuer jwtTokenIssuer;
+    private volatile JwtParser jwtParser;
 
-    public String generateAccessToken(User user) {
-
-        List<String> authorities = user.getRoles().stream()
-                .map(role -> "ROLE_" + role.getName())
-                .toList();
-
-        return Jwts.builder()
-                .claim("username", user.getUsername())
-                .claim("userId", user.getId())
-                .claim("roles", authorities)
-                .claim("expiry", jwtProperties.getExpiration())
-                .setSubject(user.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    public String generateAccessToken(UserDetails user) {
+        return this.jwtTokenIssuer.issue(user);
     }
 
     public String extractUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return parser()
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
@@ -46,16 +30,26 @@ public class JwtService {
 
     public boolean isTokenValid(String token) {
         try{
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser().parseClaimsJws(token);
             return true;
         }catch (JwtException e) {
             return false;
         }
     }
 
+    // Building a parser runs a ServiceLoader scan for the JSON deserializer, which reads jar
+    // entries under a lock; the built parser is immutable and thread-safe, so build it once.
+    private JwtParser parser() {
+        JwtParser parser = this.jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            this.jwtParser = parser;
+        }
+        return parser;
+    }
+
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
     }
@@ -0,0 +1,311 @@
+package com.assessement.starter.config.security;
+
+import com.assessement.starter.model.UserPrincipal;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocation-light HS256 token writer for the fixed claim set issued by {@link JwtService}.
+ * <p>
+ * The header is encoded once, claims are written straight to UTF-8 bytes, and key-initialised
+ * {@link Mac} instances with their scratch buffers are pooled. A pool rather than a thread-local
+ * keeps reuse working when requests run on short-lived virtual threads. The produced compact JWS
+ * is identical to what {@code Jwts.builder()} emits for the same claims, so the jjwt parser
+ * verifies it as-is.
+ */
+@Component
+public class JwtTokenIssuer {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ENCODED_HEADER = encodeHeader();
+
+    private final long expiration;
+    private final SecretKey key;
+    private final ConcurrentLinkedQueue<Signer> signers = new ConcurrentLinkedQueue<>();
+
+    public JwtTokenIssuer(JwtProperties jwtProperties) {
+        this.expiration = jwtProperties.getExpiration();
+        // Same weak-key check the jjwt parser applies, so a short secret fails at startup rather than per request
+        this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+    }
+
+    public String issue(UserDetails user) {
+        return issue(user, System.currentTimeMillis());
+    }
+
+    public String issue(UserDetails user, long issuedAtMillis) {
+        Signer signer = this.signers.poll();
+        if (signer == null) {
+            signer = new Signer(newMac(this.key));
+        }
+        try {
+            return issue(signer, user, issuedAtMillis);
+        } finally {
+            this.signers.offer(signer);
+        }
+    }
+
+    private String issue(Signer signer, UserDetails user, long issuedAtMillis) {
+        ByteWriter claims = signer.claims;
+        claims.reset();
+        writeClaims(claims, user, issuedAtMillis);
+
+        ByteWriter token = signer.token;
+        token.reset();
+        token.write(ENCODED_HEADER, 0, ENCODED_HEADER.length);
+        token.write('.');
+        encodeBase64Url(claims.bytes, claims.length, token);
+
+        Mac mac = signer.mac;
+        mac.update(token.bytes, 0, token.length);
+        try {
+            mac.doFinal(signer.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign access token", e);
+        }
+
+        token.write('.');
+        encodeBase64Url(signer.signature, SIGNATURE_LENGTH, token);
+        return new String(token.bytes, 0, token.length, StandardCharsets.US_ASCII);
+    }
+
+    // Claim order mirrors JwtService's original builder chain: custom claims, then sub, iat, exp.
+    private void writeClaims(ByteWriter out, UserDetails user, long issuedAtMillis) {
+        out.write('{');
+        boolean first = true;
+
+        if (user.getUsername() != null) {
+            first = writeName(out, "username", first);
+            writeString(out, user.getUsername());
+        }
+        Integer id = UserPrincipal.idOf(user);
+        if (id != null) {
+            first = writeName(out, "userId", first);
+            writeLong(out, id);
+        }
+
+        first = writeName(out, "roles", first);
+        out.write('[');
+        boolean firstRole = true;
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            if (!firstRole) out.write(',');
+            writeString(out, authority.getAuthority());
+            firstRole = false;
+        }
+        out.write(']');
+
+        first = writeName(out, "expiry", first);
+        writeLong(out, this.expiration);
+
+        if (user.getUsername() != null) {
+            first = writeName(out, "sub", first);
+            writeString(out, user.getUsername());
+        }
+
+        writeName(out, "iat", first);
+        writeLong(out, issuedAtMillis / 1000);
+        writeName(out, "exp", false);
+        writeLong(out, (issuedAtMillis + this.expiration) / 1000);
+
+        out.write('}');
+    }
+
+    private static boolean writeName(ByteWriter out, String name, boolean first) {
+        if (!first) out.write(',');
+        out.write('"');
+        writeEscaped(out, name);
+        out.write('"');
+        out.write(':');
+        return false;
+    }
+
+    private static void writeString(ByteWriter out, String value) {
+        out.write('"');
+        writeEscaped(out, value);
+        out.write('"');
+    }
+
+    private static void writeLong(ByteWriter out, long value) {
+        if (value == 0) {
+            out.write('0');
+            return;
+        }
+        if (value == Long.MIN_VALUE) {
+            byte[] bytes = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            out.write(bytes, 0, bytes.length);
+            return;
+        }
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int start = out.length;
+        while (value > 0) {
+            out.write((int) ('0' + value % 10));
+            value /= 10;
+        }
+        // digits were written least significant first
+        for (int i = start, j = out.length - 1; i < j; i++, j--) {
+            byte tmp = out.bytes[i];
+            out.bytes[i] = out.bytes[j];
+            out.bytes[j] = tmp;
+        }
+    }
+
+    // JSON string escaping as done by Jackson's default generator, with UTF-8 output.
+    private static void writeEscaped(ByteWriter out, String value) {
+        if (value == null) {
+            out.write('n');
+            out.write('u');
+            out.write('l');
+            out.write('l');
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                writeControl(out, c);
+            } else if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson's UTF-8 generator escapes surrogate pairs instead of combining them
+                writeUnicodeEscape(out, c);
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writeControl(ByteWriter out, char c) {
+        byte shortForm = switch (c) {
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+        if (shortForm == 0) {
+            writeUnicodeEscape(out, c);
+            return;
+        }
+        out.write('\\');
+        out.write(shortForm);
+    }
+
+    private static void writeUnicodeEscape(ByteWriter out, char c) {
+        out.write('\\');
+        out.write('u');
+        out.write(HEX[c >> 12]);
+        out.write(HEX[(c >> 8) & 0xF]);
+        out.write(HEX[(c >> 4) & 0xF]);
+        out.write(HEX[c & 0xF]);
+    }
+
+    private static void encodeBase64Url(byte[] src, int length, ByteWriter out) {
+        out.ensureCapacity(out.length + (length * 4 + 2) / 3);
+        byte[] dst = out.bytes;
+        int d = out.length;
+        int s = 0;
+        int whole = length - length % 3;
+        while (s < whole) {
+            int bits = (src[s++] & 0xFF) << 16 | (src[s++] & 0xFF) << 8 | (src[s++] & 0xFF);
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 6) & 0x3F];
+            dst[d++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = length - whole;
+        if (remaining == 1) {
+            int bits = (src[s] & 0xFF) << 16;
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[s] & 0xFF) << 16 | (src[s + 1] & 0xFF) << 8;
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+        out.length = d;
+    }
+
+    private static byte[] encodeHeader() {
+        byte[] json = "{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII);
+        ByteWriter out = new ByteWriter(32);
+        encodeBase64Url(json, json.length, out);
+        return Arrays.copyOf(out.bytes, out.length);
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + MAC_ALGORITHM, e);
+        }
+    }
+
+    private static final class Signer {
+        private final Mac mac;
+        private final ByteWriter claims = new ByteWriter(256);
+        private final ByteWriter token = new ByteWriter(512);
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+
+        private Signer(Mac mac) {
+            this.mac = mac;
+        }
+    }
+
+    private static final class ByteWriter {
+        private byte[] bytes;
+        private int length;
+
+        private ByteWriter(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void reset() {
+            this.length = 0;
+        }
+
+        private void write(int b) {
+            ensureCapacity(this.length + 1);
+            this.bytes[this.length++] = (byte) b;
+        }
+
+        private void write(byte[] src, int offset, int len) {
+            ensureCapacity(this.length + len);
+            System.arraycopy(src, offset, this.bytes, this.length, len);
+            this.length += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(capacity, this.bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.assessement.starter.config.security;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.login-audit")
+public class LoginAuditProperties {
+    private boolean enabled = true;
+    private int queueCapacity = 10_000;
+    private int batchSize = 200;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private Duration offerTimeout = Duration.ZERO;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,12 @@
+package com.assessement.starter.config.security;
+
+/**
+ * An opaque token could not be issued: the user's tokens were revoked while the login was in
+ * flight, or the token's shard is full of live tokens. Retrying the login is safe.
+ */
+public class OpaqueTokenRejectedException extends RuntimeException {
+
+    public OpaqueTokenRejectedException(String message) {
+        super(message);
+    }
+}
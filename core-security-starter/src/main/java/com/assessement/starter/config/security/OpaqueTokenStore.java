@@ -0,0 +1,246 @@
+package com.assessement.starter.config.security;
+
+import com.assessement.starter.model.UserPrincipal;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory store behind opaque access tokens ({@code app.security.token.mode=opaque}).
+ * <p>
+ * A token is a random handle prefixed with {@value #PREFIX}; it maps to a principal snapshot taken
+ * at login, so validating it is a hash lookup with no signature check or JSON parsing. Handles are
+ * spread over power-of-two shards, each bounded in size and swept for expired entries in the
+ * background; a full shard only makes room by dropping expired handles. Handles are also indexed by
+ * username, so revoking a user's tokens only touches that user's handles. Revocations bump a
+ * per-username epoch, and {@link #issue(UserDetails, long)} refuses a token whose user was revoked
+ * after the caller read the epoch, so a login racing a lock or role change cannot keep the old
+ * snapshot for a whole TTL. Tokens are node-local and do not survive a restart.
+ */
+@Component
+@Slf4j
+public class OpaqueTokenStore implements SmartLifecycle {
+
+    public static final String PREFIX = "ot_";
+
+    private static final int HANDLE_BYTES = 24;
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final TokenProperties properties;
+    private final ConcurrentHashMap<String, TokenEntry>[] shards;
+    private final ConcurrentHashMap<String, Set<String>> handlesByUser = new ConcurrentHashMap<>();
+    private final AtomicLongArray revocationEpochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final SecureRandom random = newRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    private ScheduledExecutorService sweeper;
+    private volatile boolean running;
+
+    @SuppressWarnings("unchecked")
+    public OpaqueTokenStore(TokenProperties properties) {
+        this.properties = properties;
+        int count = 1;
+        while (count < properties.getOpaque().getShards()) {
+            count <<= 1;
+        }
+        this.shards = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public static boolean isOpaqueToken(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    /**
+     * Read before loading the user to log in, then pass to {@link #issue(UserDetails, long)}.
+     * Usernames share stripes, so an unrelated revocation can occasionally reject a login.
+     */
+    public long revocationEpoch(String username) {
+        if (username == null) return 0;
+
+        return this.revocationEpochs.get(stripe(key(username)));
+    }
+
+    public String issue(UserDetails user) {
+        return issue(user, revocationEpoch(user.getUsername()));
+    }
+
+    /**
+     * Issues a token for a principal loaded after {@code revocationEpoch} was read.
+     *
+     * @throws OpaqueTokenRejectedException if the user was revoked in the meantime or the shard is full
+     */
+    public String issue(UserDetails user, long revocationEpoch) {
+        byte[] bytes = new byte[HANDLE_BYTES];
+        this.random.nextBytes(bytes);
+        String token = PREFIX + this.encoder.encodeToString(bytes);
+
+        UserDetails principal = new UserPrincipal(UserPrincipal.idOf(user), user.getUsername(), "",
+                user.isEnabled(), user.isAccountNonLocked(), user.isCredentialsNonExpired(), user.getAuthorities());
+        long now = System.currentTimeMillis();
+        TokenEntry entry = new TokenEntry(principal, now + this.properties.getOpaque().getTtl().toMillis());
+
+        ConcurrentHashMap<String, TokenEntry> shard = shardFor(token);
+        if (shard.size() >= this.properties.getOpaque().getMaxEntriesPerShard()
+                && sweep(shard, now) == 0) {
+            throw new OpaqueTokenRejectedException("Opaque token store is full");
+        }
+        shard.put(token, entry);
+        this.handlesByUser.compute(key(principal.getUsername()), (username, handles) -> {
+            Set<String> indexed = handles == null ? ConcurrentHashMap.newKeySet() : handles;
+            indexed.add(token);
+            return indexed;
+        });
+
+        // revokeUsers bumps the epoch before it drops the index, so either it sees this handle or we see the bump
+        if (revocationEpoch(principal.getUsername()) != revocationEpoch) {
+            if (shard.remove(token, entry)) unindex(token, entry);
+            throw new OpaqueTokenRejectedException("User changed while the token was being issued");
+        }
+        return token;
+    }
+
+    /** The principal snapshot for a live token, or null if it is unknown or expired. */
+    public UserDetails lookup(String token) {
+        ConcurrentHashMap<String, TokenEntry> shard = shardFor(token);
+        TokenEntry entry = shard.get(token);
+        if (entry == null) return null;
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            if (shard.remove(token, entry)) unindex(token, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public void revoke(String token) {
+        TokenEntry entry = shardFor(token).remove(token);
+        if (entry != null) unindex(token, entry);
+    }
+
+    /** Drops every token issued to the given users, e.g. after they were locked or their roles changed. */
+    public void revokeUsers(Collection<String> usernames) {
+        for (String username : usernames) {
+            this.revocationEpochs.incrementAndGet(stripe(key(username)));
+            Set<String> handles = this.handlesByUser.remove(key(username));
+            if (handles == null) continue;
+
+            for (String token : handles) {
+                shardFor(token).remove(token);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, TokenEntry> shard : this.shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public int sweepExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (ConcurrentHashMap<String, TokenEntry> shard : this.shards) {
+            removed += sweep(shard, now);
+        }
+        return removed;
+    }
+
+    @Override
+    public void start() {
+        if (this.properties.getMode() != TokenProperties.TokenMode.OPAQUE) return;
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "opaque-token-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = this.properties.getOpaque().getSweepInterval().toMillis();
+        this.sweeper.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (this.sweeper != null) {
+            this.sweeper.shutdownNow();
+        }
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private ConcurrentHashMap<String, TokenEntry> shardFor(String token) {
+        int hash = token.hashCode();
+        return this.shards[(hash ^ (hash >>> 16)) & (this.shards.length - 1)];
+    }
+
+    private int sweep(ConcurrentHashMap<String, TokenEntry> shard, long now) {
+        int removed = 0;
+        for (Map.Entry<String, TokenEntry> candidate : shard.entrySet()) {
+            TokenEntry entry = candidate.getValue();
+            if (entry.expiresAt() <= now && shard.remove(candidate.getKey(), entry)) {
+                unindex(candidate.getKey(), entry);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void unindex(String token, TokenEntry entry) {
+        this.handlesByUser.computeIfPresent(key(entry.principal().getUsername()), (username, handles) -> {
+            handles.remove(token);
+            return handles.isEmpty() ? null : handles;
+        });
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    // The default NativePRNG reads /dev/urandom inside a synchronized block, which pins a virtual
+    // thread's carrier; DRBG generates in memory once seeded.
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweepExpired();
+            if (removed > 0) log.debug("Swept {} expired opaque tokens", removed);
+        } catch (RuntimeException e) {
+            log.warn("Opaque token sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private record TokenEntry(UserDetails principal, long expiresAt) { }
+}
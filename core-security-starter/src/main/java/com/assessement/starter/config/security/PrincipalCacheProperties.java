@@ -0,0 +1,17 @@
+package com.assessement.starter.config.security;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.principal-cache")
+public class PrincipalCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(10);
+    private int maxEntries = 100_000;
+    private Duration pollInterval = Duration.ofSeconds(2);
+    private int pollBatchSize = 500;
+    private Duration gapGracePeriod = Duration.ofSeconds(10);
+    private Duration eventRetention = Duration.ofHours(1);
+}
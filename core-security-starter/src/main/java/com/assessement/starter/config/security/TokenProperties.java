@@ -0,0 +1,25 @@
+package com.assessement.starter.config.security;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.token")
+public class TokenProperties {
+    private TokenMode mode = TokenMode.JWT;
+    private Opaque opaque = new Opaque();
+
+    public enum TokenMode {
+        JWT,
+        OPAQUE
+    }
+
+    @Data
+    public static class Opaque {
+        private Duration ttl = Duration.ofHours(1);
+        private int shards = 16;
+        private int maxEntriesPerShard = 100_000;
+        private Duration sweepInterval = Duration.ofSeconds(30);
+    }
+}
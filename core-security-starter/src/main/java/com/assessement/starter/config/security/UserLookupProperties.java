@@ -0,0 +1,28 @@
+package com.assessement.starter.config.security;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.user-lookup")
+public class UserLookupProperties {
+    private boolean enabled = true;
+    private Duration timeout = Duration.ofMillis(500);
+    private int threads = 16;
+    private int queueCapacity = 256;
+    private Duration staleWindow = Duration.ofMinutes(30);
+    private int maxSnapshots = 100_000;
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class CircuitBreaker {
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration slowCallThreshold = Duration.ofMillis(250);
+        private double slowCallRateThreshold = 0.8;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 3;
+    }
+}
@@ -0,0 +1,15 @@
+package com.assessement.starter.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+    private int threads = 2;
+    private int tokenIterations = 500;
+    private int passwordIterations = 3;
+    private int lookupIterations = 200;
+    private String lookupUsername = "warmup";
+}
@@ -1,5 +1,7 @@
 package com.assessement.starter.handler;
 
+import com.assessement.starter.config.security.OpaqueTokenRejectedException;
+import com.assessement.starter.resilience.UserLookupUnavailableException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -12,6 +14,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 @RequiredArgsConstructor
@@ -29,6 +32,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
     }
 
+    @ExceptionHandler(UserLookupUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUserLookupUnavailable(UserLookupUnavailableException ex) {
+        ErrorResponse body = ErrorResponse.builder()
+                .error(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Authentication is temporarily unavailable, please retry")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(OpaqueTokenRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleOpaqueTokenRejected(OpaqueTokenRejectedException ex) {
+        ErrorResponse body = ErrorResponse.builder()
+                .error(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Could not issue an access token, please retry")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
         ErrorResponse body = ErrorResponse.builder()
@@ -40,6 +65,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        ErrorResponse body = ErrorResponse.builder()
+                .error("Bad Request")
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Invalid value for parameter '" + ex.getName() + "'")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
 
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Object> handleRuntimeException(RuntimeException ex) {
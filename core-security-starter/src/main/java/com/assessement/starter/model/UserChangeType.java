@@ -0,0 +1,10 @@
+package com.assessement.starter.model;
+
+public enum UserChangeType {
+    LOCKED,
+    UNLOCKED,
+    ENABLED,
+    DISABLED,
+    ROLE_ASSIGNED,
+    ROLE_REVOKED
+}
@@ -0,0 +1,45 @@
+package com.assessement.starter.model;
+
+import java.util.Collection;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Immutable principal snapshot taken from a {@link User} entity. Unlike the JPA entity it can be
+ * cached and shared between request threads.
+ */
+@Getter
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final Integer id;
+
+    public UserPrincipal(Integer id,
+                         String username,
+                         String password,
+                         boolean enabled,
+                         boolean accountNonLocked,
+                         boolean credentialsNonExpired,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password == null ? "" : password, enabled, true, credentialsNonExpired, accountNonLocked, authorities);
+        this.id = id;
+    }
+
+    public static UserPrincipal from(UserDetails user) {
+        if (user instanceof UserPrincipal principal) return principal;
+
+        return new UserPrincipal(idOf(user), user.getUsername(), user.getPassword(), user.isEnabled(),
+                user.isAccountNonLocked(), user.isCredentialsNonExpired(), user.getAuthorities());
+    }
+
+    public static Integer idOf(UserDetails user) {
+        if (user instanceof UserPrincipal principal) return principal.getId();
+        if (user instanceof User entity) return entity.getId();
+        return null;
+    }
+
+    // Snapshots are shared, so the ProviderManager must not null out the password after a login.
+    @Override
+    public void eraseCredentials() {
+    }
+}
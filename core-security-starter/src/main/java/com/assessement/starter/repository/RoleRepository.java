@@ -1,8 +1,11 @@
 package com.assessement.starter.repository;
 
 import com.assessement.starter.model.Role;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Integer> { }
+public interface RoleRepository extends JpaRepository<Role, Integer> {
+    Optional<Role> findByNameIgnoreCase(String name);
+}
@@ -0,0 +1,26 @@
+package com.assessement.starter.repository;
+
+import com.assessement.starter.model.UserChangeEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface UserChangeEventRepository extends JpaRepository<UserChangeEvent, Long> {
+
+    List<UserChangeEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable pageable);
+
+    @Query("select coalesce(max(e.sequence), 0) from UserChangeEvent e")
+    long findMaxSequence();
+
+    @Modifying
+    @Transactional
+    @Query("delete from UserChangeEvent e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
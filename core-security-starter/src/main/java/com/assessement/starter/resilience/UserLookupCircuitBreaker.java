@@ -0,0 +1,142 @@
+package com.assessement.starter.resilience;
+
+import com.assessement.starter.config.security.UserLookupProperties;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Count-based circuit breaker for user lookups.
+ * <p>
+ * While closed, the outcome of the last {@code window-size} calls is kept; once at least
+ * {@code minimum-calls} are recorded and either the failure rate or the slow-call rate reaches its
+ * threshold, the breaker opens and rejects calls for {@code open-duration}. It then lets
+ * {@code half-open-calls} trial calls through: if all of them succeed quickly it closes again,
+ * otherwise it reopens.
+ */
+@Component
+public class UserLookupCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final UserLookupProperties.CircuitBreaker properties;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // ring of recent outcomes: bit 0 = failed, bit 1 = slow
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+    private long timesOpened;
+
+    @Autowired
+    public UserLookupCircuitBreaker(UserLookupProperties properties) {
+        this(properties.getCircuitBreaker(), System::nanoTime);
+    }
+
+    public UserLookupCircuitBreaker(UserLookupProperties.CircuitBreaker properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.outcomes = new byte[Math.max(1, properties.getWindowSize())];
+    }
+
+    /** Whether a call may go to the database now; every permitted call must be followed by {@link #record}. */
+    public boolean tryAcquire() {
+        if (this.state == State.CLOSED) return true;
+
+        this.lock.lock();
+        try {
+            if (this.state == State.OPEN) {
+                if (this.nanoClock.getAsLong() - this.openedAt < this.properties.getOpenDuration().toNanos()) {
+                    return false;
+                }
+                this.state = State.HALF_OPEN;
+                this.trialPermits = Math.max(1, this.properties.getHalfOpenCalls());
+                this.trialSuccesses = 0;
+            }
+            if (this.state == State.HALF_OPEN) {
+                if (this.trialPermits == 0) return false;
+                this.trialPermits--;
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void record(boolean failed, long elapsedNanos) {
+        boolean slow = elapsedNanos >= this.properties.getSlowCallThreshold().toNanos();
+
+        this.lock.lock();
+        try {
+            switch (this.state) {
+                case CLOSED -> recordClosed(failed, slow);
+                case HALF_OPEN -> {
+                    if (failed || slow) {
+                        open();
+                    } else if (++this.trialSuccesses >= Math.max(1, this.properties.getHalfOpenCalls())) {
+                        close();
+                    }
+                }
+                case OPEN -> { } // late result of a call started before the breaker opened
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public State getState() {
+        return this.state;
+    }
+
+    public long getTimesOpened() {
+        return this.timesOpened;
+    }
+
+    private void recordClosed(boolean failed, boolean slow) {
+        if (this.recorded == this.outcomes.length) {
+            byte evicted = this.outcomes[this.next];
+            if ((evicted & 1) != 0) this.failures--;
+            if ((evicted & 2) != 0) this.slowCalls--;
+        } else {
+            this.recorded++;
+        }
+        this.outcomes[this.next] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        this.next = (this.next + 1) % this.outcomes.length;
+        if (failed) this.failures++;
+        if (slow) this.slowCalls++;
+
+        if (this.recorded < this.properties.getMinimumCalls()) return;
+        if ((double) this.failures / this.recorded >= this.properties.getFailureRateThreshold()
+                || (double) this.slowCalls / this.recorded >= this.properties.getSlowCallRateThreshold()) {
+            open();
+        }
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAt = this.nanoClock.getAsLong();
+        this.timesOpened++;
+        resetWindow();
+    }
+
+    private void close() {
+        this.state = State.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        this.next = 0;
+        this.recorded = 0;
+        this.failures = 0;
+        this.slowCalls = 0;
+    }
+}
@@ -0,0 +1,211 @@
+package com.assessement.starter.resilience;
+
+import com.assessement.starter.config.security.UserLookupProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs user lookups against the database with a caller-side deadline and behind a
+ * {@link UserLookupCircuitBreaker}.
+ * <p>
+ * Lookups execute on a small bounded pool so the caller can stop waiting after {@code timeout}.
+ * The same timeout is set as the transaction timeout, which Spring passes to
+ * {@code Statement#setQueryTimeout}; JDBC only takes whole seconds, so it is rounded up (500ms
+ * becomes 1s) and a stuck worker may outlive the caller's deadline by up to that rounding. With
+ * {@code spring.threads.virtual.enabled} each lookup gets its own virtual thread instead, and a
+ * semaphore admits as many lookups in flight as the pool would ({@code threads + queue-capacity}),
+ * so a fixed set of platform threads does not become the bottleneck again. A full pool or bulkhead,
+ * a timeout, an error or an open breaker all surface as {@link UserLookupUnavailableException},
+ * leaving the caller to fall back to a stale principal.
+ */
+@Component
+@Slf4j
+public class UserLookupGuard implements MeterBinder, DisposableBean {
+
+    private final UserLookupProperties properties;
+    private final UserLookupCircuitBreaker circuitBreaker;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor executor;
+    private final ThreadPoolExecutor pool;
+    private final Semaphore bulkhead;
+
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong staleMissed = new AtomicLong();
+
+    private volatile Timer latency;
+
+    public UserLookupGuard(UserLookupProperties properties,
+                           UserLookupCircuitBreaker circuitBreaker,
+                           PlatformTransactionManager transactionManager,
+                           Environment environment) {
+        this.properties = properties;
+        this.circuitBreaker = circuitBreaker;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) Math.max(1, (properties.getTimeout().toMillis() + 999) / 1000));
+
+        int threads = Math.max(1, properties.getThreads());
+        int queueCapacity = Math.max(1, properties.getQueueCapacity());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.pool = null;
+            this.bulkhead = new Semaphore(threads + queueCapacity);
+            this.executor = new VirtualThreadTaskExecutor("user-lookup-");
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "user-lookup-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.bulkhead = null;
+            this.executor = new TaskExecutorAdapter(this.pool);
+        }
+    }
+
+    public <T> T call(Supplier<T> lookup) {
+        if (!this.properties.isEnabled()) return lookup.get();
+
+        if (!this.circuitBreaker.tryAcquire()) {
+            this.rejected.incrementAndGet();
+            throw new UserLookupUnavailableException("User lookup rejected, circuit breaker is open");
+        }
+
+        long started = System.nanoTime();
+        if (this.bulkhead != null && !this.bulkhead.tryAcquire()) {
+            throw rejection(started);
+        }
+
+        Future<T> future;
+        try {
+            future = this.executor.submit(() -> {
+                try {
+                    return this.transactionTemplate.execute(status -> lookup.get());
+                } finally {
+                    if (this.bulkhead != null) this.bulkhead.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (this.bulkhead != null) this.bulkhead.release();
+            throw rejection(started);
+        }
+
+        try {
+            T result = future.get(this.properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            complete(false, started);
+            this.succeeded.incrementAndGet();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            complete(true, started);
+            this.timedOut.incrementAndGet();
+            throw new UserLookupUnavailableException("User lookup timed out after " + this.properties.getTimeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause && isAnswer(cause)) {
+                complete(false, started);
+                this.succeeded.incrementAndGet();
+                throw cause;
+            }
+            complete(true, started);
+            this.failed.incrementAndGet();
+            log.warn("User lookup failed: {}", e.getCause().toString());
+            throw new UserLookupUnavailableException("User lookup failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            complete(true, started);
+            throw new UserLookupUnavailableException("User lookup interrupted");
+        }
+    }
+
+    /** Counts whether a caller could serve a stale principal after a lookup was unavailable. */
+    public void recordFallback(boolean served) {
+        (served ? this.staleServed : this.staleMissed).incrementAndGet();
+    }
+
+    public UserLookupCircuitBreaker.State getCircuitState() {
+        return this.circuitBreaker.getState();
+    }
+
+    public long getTimedOutCount() {
+        return this.timedOut.get();
+    }
+
+    public long getRejectedCount() {
+        return this.rejected.get();
+    }
+
+    public long getStaleServedCount() {
+        return this.staleServed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.latency = Timer.builder("security.user.lookup.latency").register(registry);
+        FunctionCounter.builder("security.user.lookup.succeeded", this.succeeded, AtomicLong::get).register(registry);
+        FunctionCounter.builder("security.user.lookup.failed", this.failed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("security.user.lookup.timed-out", this.timedOut, AtomicLong::get).register(registry);
+        FunctionCounter.builder("security.user.lookup.rejected", this.rejected, AtomicLong::get).register(registry);
+        FunctionCounter.builder("security.user.lookup.stale.served", this.staleServed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("security.user.lookup.stale.missed", this.staleMissed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("security.user.lookup.circuit.opened", this.circuitBreaker,
+                UserLookupCircuitBreaker::getTimesOpened).register(registry);
+        Gauge.builder("security.user.lookup.circuit.state", this.circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.pool != null) this.pool.shutdownNow();
+    }
+
+    private UserLookupUnavailableException rejection(long started) {
+        this.rejected.incrementAndGet();
+        this.circuitBreaker.record(true, System.nanoTime() - started);
+        return new UserLookupUnavailableException("User lookup rejected, too many lookups in flight");
+    }
+
+    private void complete(boolean failed, long started) {
+        long elapsed = System.nanoTime() - started;
+        this.circuitBreaker.record(failed, elapsed);
+        Timer timer = this.latency;
+        if (timer != null) timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    // Spring Security exceptions such as UsernameNotFoundException are answers from a healthy database.
+    private static boolean isAnswer(RuntimeException e) {
+        return e instanceof AuthenticationException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.assessement.starter.resilience;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * The user store could not answer in time: the lookup timed out, failed, or was rejected because
+ * the circuit breaker is open.
+ */
+public class UserLookupUnavailableException extends InternalAuthenticationServiceException {
+
+    public UserLookupUnavailableException(String message) {
+        super(message);
+    }
+
+    public UserLookupUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
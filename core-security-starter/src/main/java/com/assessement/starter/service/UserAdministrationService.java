@@ -0,0 +1,11 @@
+package com.assessement.starter.service;
+
+public interface UserAdministrationService {
+    void setLocked(String username, boolean locked);
+
+    void setEnabled(String username, boolean enabled);
+
+    void assignRole(String username, String roleName);
+
+    void revokeRole(String username, String roleName);
+}
@@ -1,15 +1,19 @@
 package com.assessement.starter.service.impl;
 
+import com.assessement.starter.audit.LoginAuditRecorder;
 import com.assessement.starter.config.security.JwtService;
+import com.assessement.starter.config.security.OpaqueTokenStore;
+import com.assessement.starter.config.security.TokenProperties;
 import com.assessement.starter.dto.AuthenticationRequest;
 import com.assessement.starter.dto.AuthenticationResponse;
-import com.assessement.starter.model.User;
 import com.assessement.starter.service.AuthenticationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,27 +23,34 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final LoginAuditRecorder loginAuditRecorder;
+    private final OpaqueTokenStore opaqueTokenStore;
+    private final TokenProperties tokenProperties;
 
     @Override
     public AuthenticationResponse login(AuthenticationRequest request) {
-        Authentication auth = this.authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
-
-        User user = (User) auth.getPrincipal();
-        String token = this.jwtService.generateAccessToken(user);
+        // read before the user is loaded, so a revocation handled during authentication is detected
+        long revocationEpoch = this.opaqueTokenStore.revocationEpoch(request.getUsername());
+        Authentication auth;
+        try {
+            auth = this.authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsername(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            this.loginAuditRecorder.recordFailure(request.getUsername(), e);
+            throw e;
+        }
+
+        UserDetails user = (UserDetails) auth.getPrincipal();
+        this.loginAuditRecorder.recordSuccess(user.getUsername());
+        String token = this.tokenProperties.getMode() == TokenProperties.TokenMode.OPAQUE
+                ? this.opaqueTokenStore.issue(user, revocationEpoch)
+                : this.jwtService.generateAccessToken(user);
         return AuthenticationResponse.builder()
                 .accessToken(token)
                 .build();
     }
 }
-
-
-
-
-
-
-
@@ -0,0 +1,90 @@
+package com.assessement.starter.service.impl;
+
+import com.assessement.starter.model.Role;
+import com.assessement.starter.model.User;
+import com.assessement.starter.model.UserChangeEvent;
+import com.assessement.starter.model.UserChangeType;
+import com.assessement.starter.repository.RoleRepository;
+import com.assessement.starter.repository.UserChangeEventRepository;
+import com.assessement.starter.repository.UserRepository;
+import com.assessement.starter.service.UserAdministrationService;
+import java.util.ArrayList;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * User and role mutations. Every change is recorded in {@code user_change_events} within the same
+ * transaction so that each node's principal cache can pick it up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserAdministrationServiceImpl implements UserAdministrationService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final UserChangeEventRepository userChangeEventRepository;
+
+    @Override
+    @Transactional
+    public void setLocked(String username, boolean locked) {
+        User user = findUser(username);
+        user.setLocked(locked);
+        recordChange(user, locked ? UserChangeType.LOCKED : UserChangeType.UNLOCKED);
+    }
+
+    @Override
+    @Transactional
+    public void setEnabled(String username, boolean enabled) {
+        User user = findUser(username);
+        user.setEnabled(enabled);
+        recordChange(user, enabled ? UserChangeType.ENABLED : UserChangeType.DISABLED);
+    }
+
+    @Override
+    @Transactional
+    public void assignRole(String username, String roleName) {
+        User user = findUser(username);
+        Role role = findRole(roleName);
+
+        if (user.getRoles() == null) user.setRoles(new ArrayList<>());
+        if (user.getRoles().stream().noneMatch(r -> Objects.equals(r.getId(), role.getId()))) {
+            user.getRoles().add(role);
+            recordChange(user, UserChangeType.ROLE_ASSIGNED);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void revokeRole(String username, String roleName) {
+        User user = findUser(username);
+        Role role = findRole(roleName);
+
+        if (user.getRoles() != null
+                && user.getRoles().removeIf(r -> Objects.equals(r.getId(), role.getId()))) {
+            recordChange(user, UserChangeType.ROLE_REVOKED);
+        }
+    }
+
+    private User findUser(String username) {
+        return this.userRepository.findByUsernameIgnoreCase(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username " + username));
+    }
+
+    private Role findRole(String roleName) {
+        return this.roleRepository.findByNameIgnoreCase(roleName)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found with name " + roleName));
+    }
+
+    private void recordChange(User user, UserChangeType changeType) {
+        this.userChangeEventRepository.save(UserChangeEvent.builder()
+                .username(user.getUsername())
+                .changeType(changeType)
+                .build());
+        log.info("User='{}' change={}", user.getUsername(), changeType);
+    }
+}
@@ -1,6 +1,11 @@
 package com.assessement.starter.service.impl;
 
+import com.assessement.starter.cache.PrincipalCache;
+import com.assessement.starter.model.User;
+import com.assessement.starter.model.UserPrincipal;
 import com.assessement.starter.repository.UserRepository;
+import com.assessement.starter.resilience.UserLookupGuard;
+import com.assessement.starter.resilience.UserLookupUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,10 +19,31 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final UserLookupGuard userLookupGuard;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsernameIgnoreCase(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username " + username));
+        UserDetails cached = this.principalCache.get(username);
+        if (cached != null) return cached;
+
+        long generation = this.principalCache.generation(username);
+        User user;
+        try {
+            user = this.userLookupGuard.call(() -> userRepository.findByUsernameIgnoreCase(username))
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username " + username));
+        } catch (UserLookupUnavailableException e) {
+            // Degraded database: serve the last-known principal if it is recent enough
+            UserDetails stale = this.principalCache.lastKnown(username);
+            this.userLookupGuard.recordFallback(stale != null);
+            if (stale == null) throw e;
+
+            log.debug("Serving stale principal for '{}': {}", username, e.getMessage());
+            return stale;
+        }
+
+        UserPrincipal principal = UserPrincipal.from(user);
+        this.principalCache.put(username, principal, generation);
+        return principal;
     }
 }
@@ -0,0 +1,137 @@
+package com.assessement.starter.warmup;
+
+import com.assessement.starter.config.security.JwtService;
+import com.assessement.starter.config.security.WarmupProperties;
+import com.assessement.starter.model.Role;
+import com.assessement.starter.model.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exercises the authentication hot paths once at startup: token issue/verify through
+ * {@link JwtService}, password verification and user lookups through the {@link UserDetailsService}.
+ * Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC} after every
+ * {@link ApplicationRunner} has returned, so the instance stays out of rotation until warm-up is
+ * done. Failures are logged and never block startup. Runs last among application runners, so
+ * runners that load or migrate data must declare an earlier {@link Order}.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner, MeterBinder {
+
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsService userDetailsService;
+    private final WarmupProperties properties;
+
+    private volatile long durationMillis = -1;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!this.properties.isEnabled()) return;
+
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads());
+        try {
+            runOnAllThreads(executor, "token", this::warmTokens);
+            runOnAllThreads(executor, "password", this::warmPasswords);
+            runOnAllThreads(executor, "lookup", this::warmLookups);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        this.durationMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Warm-up completed in {} ms", this.durationMillis);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.warmup.duration", this, WarmupRunner::getDurationMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /** Duration of the last warm-up, or -1 if it has not run. */
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    private int threads() {
+        return Math.max(1, this.properties.getThreads());
+    }
+
+    private void warmTokens() {
+        User user = User.builder()
+                .id(0)
+                .username("warmup")
+                .roles(List.of(Role.builder().name("USER").build()))
+                .build();
+
+        for (int i = 0; i < this.properties.getTokenIterations(); i++) {
+            String token = this.jwtService.generateAccessToken(user);
+            this.jwtService.isTokenValid(token);
+            this.jwtService.extractUsernameFromToken(token);
+        }
+    }
+
+    private void warmPasswords() {
+        String hash = this.passwordEncoder.encode("warmup");
+        for (int i = 0; i < this.properties.getPasswordIterations(); i++) {
+            this.passwordEncoder.matches("warmup", hash);
+        }
+    }
+
+    // Goes through the same path as request authentication (lookup guard, transaction, principal
+    // cache); the default lookup user does not exist, so "not found" is the expected answer.
+    private void warmLookups() {
+        for (int i = 0; i < this.properties.getLookupIterations(); i++) {
+            try {
+                this.userDetailsService.loadUserByUsername(this.properties.getLookupUsername());
+            } catch (UsernameNotFoundException expected) {
+                // keeps the lookup uncached, so every iteration reaches the database
+            }
+        }
+    }
+
+    private void runOnAllThreads(ExecutorService executor, String step, Runnable task) {
+        long started = System.nanoTime();
+        int failures = 0;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads(); i++) {
+            futures.add(executor.submit(task));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failures++ == 0) {
+                    log.warn("Warm-up step '{}' failed: {}", step, e.getCause().toString());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.debug("Warm-up step '{}' took {} ms", step, (System.nanoTime() - started) / 1_000_000);
+    }
+}
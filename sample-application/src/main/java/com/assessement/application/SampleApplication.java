@@ -1,18 +1,23 @@
 package com.assessement.application;
 
+import com.assessement.application.dataset.IdentityDatasetRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
-@ComponentScan(basePackages = "com.assessement")
+@SpringBootApplication(scanBasePackages = "com.assessement")
 @EnableJpaRepositories(basePackages = "com.assessement.starter.repository")
 @EntityScan(basePackages = "com.assessement.starter.model")
 public class SampleApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(SampleApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(SampleApplication.class, args);
+
+        IdentityDatasetRunner datasetRunner = context.getBeanProvider(IdentityDatasetRunner.class).getIfAvailable();
+        if (datasetRunner != null && datasetRunner.isExitAfterLoad()) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
@@ -1,15 +1,32 @@
 
 package com.assessement.application.controller;
 
+import com.assessement.application.dto.UserListingQuery;
+import com.assessement.application.repository.UserListingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class ApiController {
 
+    private static final int MAX_PAGE_SIZE = 10_000;
+
+    private final UserListingRepository userListingRepository;
+    private final ObjectMapper objectMapper;
+
     @GetMapping("/public/health")
     public String health() {
         return "OK";
@@ -20,9 +37,54 @@ public class ApiController {
         return "Authenticated user";
     }
 
+    /**
+     * Keyset-paginated user listing. Rows are written to the response as they are read, and
+     * {@code next_cursor} is the {@code after} value for the following page, or null on the last one.
+     */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/users")
-    public String admin() {
-        return "Admin users list";
+    public void admin(@RequestParam(name = "after", defaultValue = "0") int after,
+                      @RequestParam(name = "limit", defaultValue = "100") int limit,
+                      @RequestParam(name = "role", required = false) String role,
+                      @RequestParam(name = "enabled", required = false) Boolean enabled,
+                      @RequestParam(name = "locked", required = false) Boolean locked,
+                      HttpServletResponse response) throws IOException {
+
+        UserListingQuery query = new UserListingQuery(
+                after,
+                Math.max(1, Math.min(limit, MAX_PAGE_SIZE)),
+                role == null ? null : role.toUpperCase(Locale.ROOT),
+                enabled,
+                locked
+        );
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator json = this.objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // If the row stream fails mid-page, close() must not append "]}": a truncated body is
+            // detectable, a well-formed partial page without next_cursor reads as the last page.
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("users");
+
+            int[] page = new int[2]; // count, last id
+            this.userListingRepository.stream(query, user -> {
+                try {
+                    json.writeObject(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                page[0]++;
+                page[1] = user.id();
+            });
+
+            json.writeEndArray();
+            if (page[0] == query.limit()) {
+                json.writeNumberField("next_cursor", page[1]);
+            } else {
+                json.writeNullField("next_cursor");
+            }
+            json.writeEndObject();
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.assessement.application.dataset;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.dataset")
+public class DatasetProperties {
+    private long users = 1_000_000;
+    private long seed = 42;
+    private int batchSize = 5_000;
+    private String password = "password123";
+    private double disabledRatio = 0.02;
+    private double lockedRatio = 0.01;
+    private boolean exitAfterLoad = false;
+
+    /**
+     * Independent probability of each role being granted; users that draw none get USER. Starts
+     * empty because the binder merges configured entries into the default map; see {@link #roleMix()}.
+     */
+    private Map<String, Double> roles = new LinkedHashMap<>();
+
+    /** The configured roles, or the built-in mix when none are configured. */
+    public Map<String, Double> roleMix() {
+        if (!this.roles.isEmpty()) return this.roles;
+
+        return Map.of(
+                "USER", 0.97,
+                "SUPPORT", 0.03,
+                "AUDITOR", 0.005,
+                "ADMIN", 0.002
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.assessement.application.dataset;
+
+import java.util.List;
+
+public record DatasetUser(
+        String username,
+        String fullName,
+        boolean enabled,
+        boolean locked,
+        List<String> roles
+) { }
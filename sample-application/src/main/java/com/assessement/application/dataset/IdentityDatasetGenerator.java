@@ -0,0 +1,160 @@
+package com.assessement.application.dataset;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Bulk-loads synthetic users and role assignments through JDBC batches.
+ * <p>
+ * Every user is derived from {@code (seed, index)} alone, so the same settings always produce the
+ * same rows. The password is hashed once and the hash shared by all generated users, which keeps
+ * generation independent of BCrypt cost and lets load tests log in as any of them.
+ */
+@Slf4j
+public class IdentityDatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Olivia", "Liam", "Amara", "Noah", "Chidi", "Emma", "Mateo", "Ngozi", "Sofia", "Lucas",
+            "Aisha", "Ethan", "Zara", "Kenji", "Mia", "Tunde", "Isla", "Omar", "Chloe", "Ravi"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Okafor", "Garcia", "Nguyen", "Johnson", "Adeyemi", "Brown", "Kim", "Silva", "Muller",
+            "Okeke", "Rossi", "Patel", "Dubois", "Khan", "Eze", "Novak", "Tanaka", "Lopez", "Walker"
+    };
+
+    private static final String INSERT_USER = """
+            INSERT INTO users_tbl (full_name, username, password, enabled, locked, credentials_expired)
+            VALUES (?, ?, ?, ?, ?, FALSE)
+            """;
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (users_id, roles_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DatasetProperties properties;
+    private final TreeMap<String, Double> roleProbabilities;
+
+    public IdentityDatasetGenerator(JdbcTemplate jdbcTemplate,
+                                    PasswordEncoder passwordEncoder,
+                                    DatasetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        // sorted so the order of random draws does not depend on map iteration order
+        this.roleProbabilities = new TreeMap<>(properties.roleMix());
+    }
+
+    /**
+     * Inserts {@code app.dataset.users} users in batches of {@code app.dataset.batch-size}.
+     *
+     * @return the number of users inserted
+     */
+    public long generate() {
+        long started = System.nanoTime();
+        Map<String, Integer> roleIds = ensureRoles();
+        String passwordHash = this.passwordEncoder.encode(this.properties.getPassword());
+
+        long total = this.properties.getUsers();
+        int batchSize = this.properties.getBatchSize();
+        List<DatasetUser> batch = new ArrayList<>(batchSize);
+
+        for (long index = 0; index < total; index++) {
+            batch.add(userAt(index));
+            if (batch.size() == batchSize || index == total - 1) {
+                insertBatch(batch, passwordHash, roleIds);
+                batch.clear();
+
+                if ((index + 1) % (batchSize * 20L) == 0) {
+                    log.info("Generated {}/{} users", index + 1, total);
+                }
+            }
+        }
+
+        log.info("Generated {} users in {} ms", total, (System.nanoTime() - started) / 1_000_000);
+        return total;
+    }
+
+    public DatasetUser userAt(long index) {
+        SplittableRandom random = new SplittableRandom(this.properties.getSeed() * 0x9E3779B97F4A7C15L + index);
+
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        boolean enabled = random.nextDouble() >= this.properties.getDisabledRatio();
+        boolean locked = random.nextDouble() < this.properties.getLockedRatio();
+
+        List<String> roles = new ArrayList<>(2);
+        this.roleProbabilities.forEach((role, probability) -> {
+            if (random.nextDouble() < probability) roles.add(role);
+        });
+        if (roles.isEmpty()) roles.add("USER");
+
+        return new DatasetUser(
+                (first + "." + last + "." + index).toLowerCase(Locale.ROOT),
+                first + " " + last,
+                enabled,
+                locked,
+                roles
+        );
+    }
+
+    private Map<String, Integer> ensureRoles() {
+        Map<String, Integer> roleIds = new TreeMap<>();
+        for (String role : this.roleProbabilities.keySet()) {
+            List<Integer> ids = this.jdbcTemplate.queryForList(
+                    "SELECT id FROM roles WHERE name = ?", Integer.class, role);
+            if (ids.isEmpty()) {
+                this.jdbcTemplate.update("INSERT INTO roles (name) VALUES (?)", role);
+                ids = this.jdbcTemplate.queryForList("SELECT id FROM roles WHERE name = ?", Integer.class, role);
+            }
+            roleIds.put(role, ids.get(0));
+        }
+        if (!roleIds.containsKey("USER")) {
+            roleIds.put("USER", this.jdbcTemplate.queryForObject(
+                    "SELECT id FROM roles WHERE name = 'USER'", Integer.class));
+        }
+        return roleIds;
+    }
+
+    private void insertBatch(List<DatasetUser> users, String passwordHash, Map<String, Integer> roleIds) {
+        // role rows reference the generated ids directly instead of re-selecting each user by username
+        KeyHolder keys = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_USER, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        DatasetUser user = users.get(i);
+                        ps.setString(1, user.fullName());
+                        ps.setString(2, user.username());
+                        ps.setString(3, passwordHash);
+                        ps.setBoolean(4, user.enabled());
+                        ps.setBoolean(5, user.locked());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> userIds = keys.getKeyList();
+        List<Object[]> assignments = new ArrayList<>(users.size() * 2);
+        for (int i = 0; i < users.size(); i++) {
+            Object userId = userIds.get(i).values().iterator().next();
+            for (String role : users.get(i).roles()) {
+                assignments.add(new Object[] { userId, roleIds.get(role) });
+            }
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_USER_ROLE, assignments);
+    }
+}
@@ -0,0 +1,42 @@
+package com.assessement.application.dataset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the synthetic identity dataset on startup when the {@code dataset} profile is active, e.g.
+ * {@code java -jar sample-application.jar --spring.profiles.active=dataset --app.dataset.users=5000000}.
+ * Point {@code spring.datasource.*} elsewhere to load into another JDBC target. With
+ * {@code exit-after-load}, {@code SampleApplication.main} closes the context once startup is done;
+ * the runner itself never exits the JVM.
+ */
+@Component
+@Profile("dataset")
+@Order(Ordered.HIGHEST_PRECEDENCE) // load before runners that read users, such as warm-up
+@EnableConfigurationProperties(DatasetProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class IdentityDatasetRunner implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DatasetProperties datasetProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        new IdentityDatasetGenerator(this.jdbcTemplate, this.passwordEncoder, this.datasetProperties).generate();
+    }
+
+    public boolean isExitAfterLoad() {
+        return this.datasetProperties.isExitAfterLoad();
+    }
+}
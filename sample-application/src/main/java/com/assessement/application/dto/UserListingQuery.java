@@ -0,0 +1,9 @@
+package com.assessement.application.dto;
+
+public record UserListingQuery(
+        int after,
+        int limit,
+        String role,
+        Boolean enabled,
+        Boolean locked
+) { }
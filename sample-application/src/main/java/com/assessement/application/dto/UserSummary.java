@@ -0,0 +1,13 @@
+package com.assessement.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record UserSummary(
+        int id,
+        String username,
+        @JsonProperty("full_name") String fullName,
+        boolean enabled,
+        boolean locked,
+        List<String> roles
+) { }
@@ -0,0 +1,115 @@
+package com.assessement.application.repository;
+
+import com.assessement.application.dto.UserListingQuery;
+import com.assessement.application.dto.UserSummary;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only user listing that seeks on {@code users_tbl.id} and joins role names in the same
+ * query, streaming each user to the caller instead of materialising the page. Roles arrive as one
+ * row per user and role, ordered by user, and are folded together here rather than with a
+ * vendor-specific string aggregate.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserListingRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void stream(UserListingQuery query, Consumer<UserSummary> consumer) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder page = new StringBuilder("""
+                SELECT id, username, full_name, enabled, locked
+                FROM users_tbl u
+                WHERE u.id > ?
+                """);
+        params.add(query.after());
+
+        if (query.enabled() != null) {
+            page.append(" AND u.enabled = ?");
+            params.add(query.enabled());
+        }
+        if (query.locked() != null) {
+            page.append(" AND u.locked = ?");
+            params.add(query.locked());
+        }
+        if (query.role() != null) {
+            page.append("""
+                     AND EXISTS (SELECT 1 FROM user_roles fur JOIN roles fr ON fr.id = fur.roles_id
+                                 WHERE fur.users_id = u.id AND fr.name = ?)
+                    """);
+            params.add(query.role());
+        }
+        page.append(" ORDER BY u.id LIMIT ?");
+        params.add(query.limit());
+
+        // The page is cut on the primary key first, then joined to its roles
+        String sql = """
+                SELECT p.id, p.username, p.full_name, p.enabled, p.locked, r.name AS role_name
+                FROM (%s) p
+                LEFT JOIN user_roles ur ON ur.users_id = p.id
+                LEFT JOIN roles r ON r.id = ur.roles_id
+                ORDER BY p.id, r.name
+                """.formatted(page);
+
+        UserRows rows = new UserRows(consumer);
+
+        this.jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, rows);
+        rows.flush();
+    }
+
+    /** Folds consecutive rows of the same user into one {@link UserSummary}. */
+    private static final class UserRows implements RowCallbackHandler {
+
+        private final Consumer<UserSummary> consumer;
+        private UserSummary current;
+        private List<String> roles;
+
+        UserRows(Consumer<UserSummary> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            int id = rs.getInt("id");
+            if (this.current == null || this.current.id() != id) {
+                flush();
+                this.roles = new ArrayList<>();
+                this.current = new UserSummary(
+                        id,
+                        rs.getString("username"),
+                        rs.getString("full_name"),
+                        rs.getBoolean("enabled"),
+                        rs.getBoolean("locked"),
+                        this.roles
+                );
+            }
+            String role = rs.getString("role_name");
+            if (role != null) this.roles.add(role);
+        }
+
+        void flush() {
+            if (this.current == null) return;
+            this.consumer.accept(this.current);
+            this.current = null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- Change feed read by every node to invalidate cached principals
+CREATE TABLE user_change_events (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    change_type VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_user_change_events_created_at ON user_change_events (created_at);
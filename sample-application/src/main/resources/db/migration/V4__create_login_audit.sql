@@ -0,0 +1,14 @@
+-- Login audit trail, written in batches by LoginAuditRecorder.
+-- occurred_at leads the primary key and there are no foreign keys, so the table can be
+-- range-partitioned by time on databases that support it.
+CREATE TABLE login_audit (
+    id BIGINT AUTO_INCREMENT,
+    occurred_at TIMESTAMP NOT NULL,
+    username VARCHAR(255),
+    success BOOLEAN NOT NULL,
+    failure_reason VARCHAR(64),
+    client_ip VARCHAR(45),
+    PRIMARY KEY (occurred_at, id)
+);
+
+CREATE INDEX idx_login_audit_username_time ON login_audit (username, occurred_at);
@@ -0,0 +1,90 @@
+package com.assessement.application.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.assessement.starter.audit.LoginAuditEvent;
+import com.assessement.starter.audit.LoginAuditRecorder;
+import com.assessement.starter.audit.LoginAuditWriter;
+import com.assessement.starter.config.security.LoginAuditProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "app.security.login-audit.flush-interval=50ms")
+@AutoConfigureMockMvc
+class LoginAuditRecorderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loginAttempts_areWrittenToAuditTable() throws Exception {
+        long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM login_audit", Long.class);
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"alice\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"alice\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+
+        List<Map<String, Object>> rows = awaitRows("alice", lastId, 2);
+
+        assertThat(rows).extracting(row -> row.get("SUCCESS")).containsExactly(true, false);
+        assertThat(rows.get(1).get("FAILURE_REASON")).isEqualTo("BadCredentialsException");
+        assertThat(rows.get(0).get("CLIENT_IP")).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    void fullQueue_dropsEventsAndShutdownFlushesTheRest() {
+        LoginAuditProperties properties = new LoginAuditProperties();
+        properties.setQueueCapacity(2);
+        List<LoginAuditEvent> written = new ArrayList<>();
+        LoginAuditWriter writer = mock(LoginAuditWriter.class);
+        doAnswer(inv -> written.addAll(inv.getArgument(0))).when(writer).write(anyList());
+
+        LoginAuditRecorder recorder = new LoginAuditRecorder(writer, properties);
+        recorder.recordSuccess("a");
+        recorder.recordFailure("b", new BadCredentialsException("bad"));
+        recorder.recordSuccess("c");
+
+        assertThat(recorder.getEnqueuedCount()).isEqualTo(2);
+        assertThat(recorder.getDroppedCount()).isEqualTo(1);
+
+        recorder.start();
+        recorder.stop();
+
+        assertThat(written).extracting(LoginAuditEvent::username).containsExactly("a", "b");
+        assertThat(recorder.getWrittenCount()).isEqualTo(2);
+    }
+
+    private List<Map<String, Object>> awaitRows(String username, long afterId, int expected)
+            throws InterruptedException {
+        List<Map<String, Object>> rows = List.of();
+        for (int i = 0; i < 100 && rows.size() < expected; i++) {
+            Thread.sleep(50);
+            rows = jdbcTemplate.queryForList(
+                    "SELECT * FROM login_audit WHERE username = ? AND id > ? ORDER BY occurred_at, id",
+                    username, afterId);
+        }
+        return rows;
+    }
+}
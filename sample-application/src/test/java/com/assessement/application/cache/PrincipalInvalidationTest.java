@@ -0,0 +1,152 @@
+package com.assessement.application.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.assessement.starter.cache.PrincipalCache;
+import com.assessement.starter.cache.PrincipalInvalidationPoller;
+import com.assessement.starter.config.security.PrincipalCacheProperties;
+import com.assessement.starter.config.security.UserLookupProperties;
+import com.assessement.starter.model.User;
+import com.assessement.starter.model.UserChangeEvent;
+import com.assessement.starter.model.UserChangeType;
+import com.assessement.starter.model.UserPrincipal;
+import com.assessement.starter.repository.UserChangeEventRepository;
+import com.assessement.starter.service.UserAdministrationService;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@SpringBootTest(properties = "app.security.principal-cache.poll-interval=1h")
+class PrincipalInvalidationTest {
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private PrincipalInvalidationPoller poller;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserChangeEventRepository userChangeEventRepository;
+
+    @BeforeEach
+    void setup() {
+        poller.poll();
+        principalCache.clear();
+    }
+
+    @AfterEach
+    void restore() {
+        userAdministrationService.setLocked("bob", false);
+        userAdministrationService.assignRole("bob", "USER");
+        poller.poll();
+    }
+
+    @Test
+    void lockedUser_isEvictedAfterPoll() {
+        UserDetails before = userDetailsService.loadUserByUsername("bob");
+        assertThat(before.isAccountNonLocked()).isTrue();
+        assertThat(userDetailsService.loadUserByUsername("BOB")).isSameAs(before);
+
+        userAdministrationService.setLocked("bob", true);
+
+        // still served from cache until this node reads the change feed
+        assertThat(userDetailsService.loadUserByUsername("bob")).isSameAs(before);
+
+        assertThat(poller.poll()).isEqualTo(1);
+        assertThat(userDetailsService.loadUserByUsername("bob").isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void revokedRole_isEvictedAfterPoll() {
+        assertThat(userDetailsService.loadUserByUsername("bob").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+
+        userAdministrationService.revokeRole("bob", "USER");
+        long cursor = poller.getCursor();
+
+        assertThat(poller.poll()).isEqualTo(1);
+        assertThat(poller.getCursor()).isEqualTo(cursor + 1);
+        assertThat(userDetailsService.loadUserByUsername("bob").getAuthorities()).isEmpty();
+    }
+
+    @Test
+    void unrelatedChanges_leaveOtherEntriesCached() {
+        UserDetails alice = userDetailsService.loadUserByUsername("alice");
+
+        userAdministrationService.setLocked("bob", true);
+        poller.poll();
+
+        assertThat(userDetailsService.loadUserByUsername("alice")).isSameAs(alice);
+    }
+
+    @Test
+    void evictingOneUser_keepsConcurrentLoadsOfOthers() {
+        UserPrincipal alice = new UserPrincipal(1, "alice", "", true, true, true, List.of());
+        UserPrincipal bob = new UserPrincipal(2, "bob", "", true, true, true, List.of());
+        long aliceGeneration = principalCache.generation("alice");
+        long bobGeneration = principalCache.generation("bob");
+
+        principalCache.evict("bob");
+        principalCache.put("alice", alice, aliceGeneration);
+        principalCache.put("bob", bob, bobGeneration);
+
+        assertThat(principalCache.get("alice")).isSameAs(alice);
+        assertThat(principalCache.get("bob")).isNull();
+    }
+
+    @Test
+    void expiredChangeEvents_arePurged() {
+        UserChangeEvent old = userChangeEventRepository.save(UserChangeEvent.builder()
+                .username("retention-check")
+                .changeType(UserChangeType.LOCKED)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .build());
+        UserChangeEvent recent = userChangeEventRepository.save(UserChangeEvent.builder()
+                .username("retention-check")
+                .changeType(UserChangeType.UNLOCKED)
+                .build());
+
+        assertThat(poller.purgeExpiredEvents()).isPositive();
+
+        assertThat(userChangeEventRepository.findById(old.getSequence())).isEmpty();
+        assertThat(userChangeEventRepository.findById(recent.getSequence())).isPresent();
+    }
+
+    @Test
+    void cachedPrincipal_isImmutableSnapshotNotTheEntity() {
+        UserDetails bob = userDetailsService.loadUserByUsername("bob");
+
+        assertThat(bob).isInstanceOf(UserPrincipal.class).isNotInstanceOf(User.class);
+        ((UserPrincipal) bob).eraseCredentials();
+        assertThat(userDetailsService.loadUserByUsername("bob").getPassword()).isNotEmpty();
+    }
+
+    @Test
+    void fullCache_evictsFromSampleAndKeepsCaching() {
+        PrincipalCacheProperties properties = new PrincipalCacheProperties();
+        properties.setMaxEntries(4);
+        PrincipalCache cache = new PrincipalCache(properties, new UserLookupProperties());
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("user-" + i, new UserPrincipal(i, "user-" + i, "", true, true, true, List.of()),
+                    cache.generation("user-" + i));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(4);
+        assertThat(cache.get("user-9")).isNotNull();
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessement.application.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.assessement.starter.config.SecurityContextAutoConfiguration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class SecurityContextAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    SecurityContextAutoConfiguration.class, TaskExecutionAutoConfiguration.class));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void taskExecutor_propagatesSecurityContext() {
+        contextRunner.run(context -> {
+            Authentication caller = new TestingAuthenticationToken("alice", "n/a", "ROLE_USER");
+            SecurityContextHolder.getContext().setAuthentication(caller);
+
+            CompletableFuture<Authentication> seen = new CompletableFuture<>();
+            context.getBean(AsyncTaskExecutor.class)
+                    .execute(() -> seen.complete(SecurityContextHolder.getContext().getAuthentication()));
+
+            assertThat(seen.get(5, TimeUnit.SECONDS)).isSameAs(caller);
+        });
+    }
+
+    @Test
+    void applicationTaskDecorator_replacesTheDefault() {
+        contextRunner.withUserConfiguration(CustomDecorator.class).run(context ->
+                assertThat(context).getBean(TaskDecorator.class).isSameAs(CustomDecorator.DECORATOR));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class CustomDecorator {
+
+        static final TaskDecorator DECORATOR = runnable -> runnable;
+
+        @Bean
+        TaskDecorator customTaskDecorator() {
+            return DECORATOR;
+        }
+    }
+}
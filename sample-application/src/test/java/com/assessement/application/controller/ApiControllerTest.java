@@ -1,22 +1,38 @@
 package com.assessement.application.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.assessement.application.dto.UserSummary;
+import com.assessement.application.repository.UserListingRepository;
 import com.assessement.starter.config.security.JwtService;
 import com.assessement.starter.model.Role;
 import com.assessement.starter.model.User;
+import com.assessement.starter.service.UserAdministrationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 @SpringBootTest
@@ -26,12 +42,21 @@ class ApiControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
     @MockitoBean
     private JwtService jwtService;
 
     @MockitoBean
     private UserDetailsService userDetailsService;
 
+    @MockitoSpyBean
+    private UserListingRepository userListingRepository;
+
     private String validUserToken;
     private String validAdminToken;
 
@@ -131,6 +156,111 @@ class ApiControllerTest {
         mockMvc.perform(get("/api/admin/users")
                         .header(HttpHeaders.AUTHORIZATION, validAdminToken))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Admin users list"));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.users[0].username").value("alice"))
+                .andExpect(jsonPath("$.users[0].roles[0]").value("ADMIN"))
+                .andExpect(jsonPath("$.users[1].username").value("bob"))
+                .andExpect(jsonPath("$.next_cursor").value(nullValue()));
+    }
+
+    @Test
+    void adminEndpoint_shouldPageByKeyset() throws Exception {
+        mockAdminToken();
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("limit", "1")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].username").value("alice"))
+                .andExpect(jsonPath("$.next_cursor").value(1));
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("after", "1")
+                        .param("limit", "1")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("bob"))
+                .andExpect(jsonPath("$.users[0].full_name").value("Bob Smith"));
+    }
+
+    @Test
+    void adminEndpoint_shouldFilterByRoleAndState() throws Exception {
+        mockAdminToken();
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("role", "user")
+                        .param("enabled", "true")
+                        .param("locked", "false")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].username").value("bob"));
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("locked", "true")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users").isEmpty());
+    }
+
+    @Test
+    void adminEndpoint_shouldListEveryRoleOfAUserInOrder() throws Exception {
+        mockAdminToken();
+        userAdministrationService.assignRole("alice", "USER");
+        try {
+            mockMvc.perform(get("/api/admin/users")
+                            .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.users.length()").value(2))
+                    .andExpect(jsonPath("$.users[0].roles", contains("ADMIN", "USER")))
+                    .andExpect(jsonPath("$.users[1].roles", contains("USER")));
+        } finally {
+            userAdministrationService.revokeRole("alice", "USER");
+        }
+    }
+
+    @Test
+    void adminEndpoint_shouldRejectMalformedParameters() throws Exception {
+        mockAdminToken();
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("after", "abc")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter 'after'"));
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("limit", "x")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adminEndpoint_shouldNotTerminateJsonWhenStreamFailsMidPage() throws Exception {
+        mockAdminToken();
+        doAnswer(invocation -> {
+            Consumer<UserSummary> consumer = invocation.getArgument(1);
+            consumer.accept(new UserSummary(1, "alice", "Alice", true, false, List.of("ADMIN")));
+            throw new DataAccessResourceFailureException("Connection lost");
+        }).when(userListingRepository).stream(any(), any());
+
+        String body = mockMvc.perform(get("/api/admin/users")
+                        .header(HttpHeaders.AUTHORIZATION, validAdminToken))
+                .andReturn().getResponse().getContentAsString();
+
+        // the partial page must not be closed into a well-formed "last page"
+        assertThat(body).startsWith("{\"users\":[{\"id\":1,").doesNotContain("next_cursor");
+        assertThatThrownBy(() -> objectMapper.createParser(body).readValueAsTree())
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    private void mockAdminToken() {
+        when(userDetailsService.loadUserByUsername("admin"))
+                .thenReturn(admin);
+        when(jwtService.extractUsernameFromToken("valid-admin-token"))
+                .thenReturn(admin.getUsername());
+        when(jwtService.isTokenValid("valid-admin-token"))
+                .thenReturn(true);
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.assessement.application.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class IdentityDatasetGeneratorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DatasetProperties properties;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:dataset-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        properties = new DatasetProperties();
+        properties.setUsers(2_000);
+        properties.setBatchSize(300);
+    }
+
+    @Test
+    void generate_loadsUsersWithRoles() {
+        new IdentityDatasetGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties).generate();
+
+        assertThat(count("SELECT COUNT(*) FROM users_tbl")).isEqualTo(2_002);
+        assertThat(count("SELECT COUNT(DISTINCT users_id) FROM user_roles")).isEqualTo(2_002);
+        assertThat(count("SELECT COUNT(DISTINCT password) FROM users_tbl WHERE id > 2")).isEqualTo(1);
+        assertThat(count("""
+                SELECT COUNT(*) FROM user_roles ur JOIN roles r ON r.id = ur.roles_id
+                WHERE r.name = 'USER' AND ur.users_id > 2
+                """)).isBetween(1_900L, 2_000L);
+    }
+
+    @Test
+    void configuredRoles_replaceTheBuiltInMix() {
+        DatasetProperties configured = new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.dataset.roles[ADMIN]", "1.0")))
+                .bind("app.dataset", DatasetProperties.class)
+                .get();
+
+        assertThat(configured.roleMix()).containsExactly(entry("ADMIN", 1.0));
+        assertThat(new DatasetProperties().roleMix()).containsOnlyKeys("USER", "SUPPORT", "AUDITOR", "ADMIN");
+    }
+
+    @Test
+    void userAt_isDeterministicForSeed() {
+        IdentityDatasetGenerator first = new IdentityDatasetGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties);
+        IdentityDatasetGenerator second = new IdentityDatasetGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties);
+
+        for (long i = 0; i < 1_000; i++) {
+            assertThat(second.userAt(i)).isEqualTo(first.userAt(i));
+        }
+
+        DatasetProperties reseededProperties = new DatasetProperties();
+        reseededProperties.setSeed(7);
+        IdentityDatasetGenerator reseeded =
+                new IdentityDatasetGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), reseededProperties);
+        assertThat(LongStream.range(0, 20).mapToObj(reseeded::userAt).toList())
+                .isNotEqualTo(LongStream.range(0, 20).mapToObj(first::userAt).toList());
+    }
+
+    @Test
+    void generate_assignsRolesToTheInsertedUser() {
+        properties.setUsers(50);
+        IdentityDatasetGenerator generator = new IdentityDatasetGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties);
+        generator.generate();
+
+        for (long i = 0; i < 50; i++) {
+            DatasetUser user = generator.userAt(i);
+            List<String> roles = jdbcTemplate.queryForList("""
+                    SELECT r.name FROM user_roles ur
+                    JOIN users_tbl u ON u.id = ur.users_id
+                    JOIN roles r ON r.id = ur.roles_id
+                    WHERE u.username = ?
+                    """, String.class, user.username());
+            assertThat(roles).containsExactlyInAnyOrderElementsOf(user.roles());
+        }
+    }
+
+    @Test
+    void userAt_doesNotDependOnDefaultLocale() {
+        IdentityDatasetGenerator generator = new IdentityDatasetGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties);
+        List<DatasetUser> expected = LongStream.range(0, 200).mapToObj(generator::userAt).toList();
+
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            assertThat(LongStream.range(0, 200).mapToObj(generator::userAt).toList()).isEqualTo(expected);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+        assertThat(expected).extracting(DatasetUser::username).allMatch(name -> name.matches("[a-z.0-9]+"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
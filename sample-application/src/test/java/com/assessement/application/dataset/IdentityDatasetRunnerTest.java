@@ -0,0 +1,35 @@
+package com.assessement.application.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dataset-runner",
+        "app.dataset.users=50",
+        "app.dataset.exit-after-load=true"
+})
+@ActiveProfiles("dataset")
+class IdentityDatasetRunnerTest {
+
+    @Autowired
+    private IdentityDatasetRunner identityDatasetRunner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void exitAfterLoad_leavesTheContextToTheCaller() {
+        assertThat(context.isActive()).isTrue();
+        assertThat(identityDatasetRunner.isExitAfterLoad()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users_tbl", Long.class)).isEqualTo(52);
+    }
+}
@@ -0,0 +1,209 @@
+package com.assessement.application.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.assessement.starter.config.security.JwtService;
+import com.assessement.starter.model.User;
+import com.assessement.starter.repository.UserRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Guards the bytes allocated per request on the authentication path. Each scenario is driven
+ * through the full security filter chain, warmed up, and then the median allocation of the
+ * measured iterations is compared with its budget in {@code allocation-budgets.properties}.
+ * <p>
+ * A request is charged with what the calling thread and the {@code user-lookup-*} pool threads
+ * allocate, so database lookups handed to the lookup guard count. Deliberately excluded: BCrypt
+ * (see {@link MemoizedPasswordChecks}), the login audit writer (disabled), background pollers and
+ * sweepers, and lookups on virtual threads, which the thread MXBean does not report; this context
+ * runs the platform lookup pool. The default context keeps the principal cache on, so its token
+ * scenarios measure a cache hit; {@link ColdLookups} repeats them with the cache off.
+ */
+@SpringBootTest(properties = "app.security.login-audit.enabled=false")
+@Import(AllocationBudgetTest.MemoizedPasswordChecks.class) // explicit so ColdLookups inherits it
+@AutoConfigureMockMvc
+class AllocationBudgetTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Properties budgets;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String validToken;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        User bob = userRepository.findByUsernameIgnoreCase("bob").orElseThrow();
+        validToken = "Bearer " + jwtService.generateAccessToken(bob);
+    }
+
+    @Test
+    void login_staysWithinBudget() throws Exception {
+        // only the first check pays for BCrypt, see MemoizedPasswordChecks
+        assertWithinBudget(mockMvc, "login", 300, 100,
+                post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"bob\",\"password\":\"password123\"}"),
+                status().isOk());
+    }
+
+    @Test
+    void validToken_staysWithinBudget() throws Exception {
+        assertWithinBudget(mockMvc, "valid-token", 500, 200,
+                get("/api/user/me").header(HttpHeaders.AUTHORIZATION, validToken),
+                status().isOk());
+    }
+
+    @Test
+    void invalidToken_staysWithinBudget() throws Exception {
+        assertWithinBudget(mockMvc, "invalid-token", 500, 200,
+                get("/api/user/me").header(HttpHeaders.AUTHORIZATION, validToken + "x"),
+                status().isUnauthorized());
+    }
+
+    /** Repeats the lookup-bound scenarios with every request loading the user from the database. */
+    @Nested
+    @TestPropertySource(properties = "app.security.principal-cache.enabled=false")
+    class ColdLookups {
+
+        @Autowired
+        private MockMvc coldMockMvc;
+
+        @Test
+        void login_staysWithinBudget() throws Exception {
+            assertWithinBudget(coldMockMvc, "login-cold", 300, 100,
+                    post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"username\":\"bob\",\"password\":\"password123\"}"),
+                    status().isOk());
+        }
+
+        @Test
+        void validToken_staysWithinBudget() throws Exception {
+            assertWithinBudget(coldMockMvc, "valid-token-cold", 500, 200,
+                    get("/api/user/me").header(HttpHeaders.AUTHORIZATION, validToken),
+                    status().isOk());
+        }
+    }
+
+    private static void assertWithinBudget(MockMvc mockMvc, String path, int warmup, int iterations,
+                                           RequestBuilder request, ResultMatcher expected) throws Exception {
+        assertThat(THREADS.isThreadAllocatedMemorySupported()).isTrue();
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < warmup; i++) {
+            mockMvc.perform(request).andExpect(expected);
+        }
+
+        // resolved after warm-up, once the lookup pool has started all of its threads
+        long[] threadIds = measuredThreads();
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long before = allocatedBytes(threadIds);
+            mockMvc.perform(request).andExpect(expected);
+            samples[i] = allocatedBytes(threadIds) - before;
+        }
+
+        Arrays.sort(samples);
+        long median = samples[iterations / 2];
+        long budget = Long.getLong("allocation.budget." + path, Long.parseLong(budgets.getProperty(path)));
+
+        assertThat(median)
+                .as("bytes allocated per %s request (median=%d, p90=%d)", path, median, samples[iterations * 9 / 10])
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private static long[] measuredThreads() {
+        long[] lookupThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("user-lookup-"))
+                .mapToLong(Thread::getId)
+                .toArray();
+        long[] threadIds = Arrays.copyOf(lookupThreads, lookupThreads.length + 1);
+        threadIds[lookupThreads.length] = Thread.currentThread().getId();
+        return threadIds;
+    }
+
+    private static long allocatedBytes(long[] threadIds) {
+        long total = 0;
+        for (long threadId : threadIds) {
+            total += Math.max(0, THREADS.getThreadAllocatedBytes(threadId));
+        }
+        return total;
+    }
+
+    /**
+     * BCrypt's scratch arrays dominate login allocation and swing with JIT escape analysis; memoising
+     * verified pairs takes them out after warm-up so the budget tracks the rest of the login path.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class MemoizedPasswordChecks {
+
+        @Bean
+        static BeanPostProcessor memoizePasswordEncoder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof PasswordEncoder encoder)) return bean;
+
+                    Map<String, Boolean> verified = new ConcurrentHashMap<>();
+                    return new PasswordEncoder() {
+                        @Override
+                        public String encode(CharSequence rawPassword) {
+                            return encoder.encode(rawPassword);
+                        }
+
+                        @Override
+                        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                            return verified.computeIfAbsent(rawPassword + "\u0000" + encodedPassword,
+                                    key -> encoder.matches(rawPassword, encodedPassword));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.assessement.application.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.assessement.application.support.SecurityTestSupport;
+import com.assessement.starter.config.security.OpaqueTokenStore;
+import com.assessement.starter.model.User;
+import com.assessement.starter.repository.UserRepository;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Fails the Java 21 build when a virtual thread blocks while pinned to its carrier on the auth path.
+ * Logins and authenticated requests (JWT and opaque tokens) are served by Tomcat on virtual threads
+ * while a JFR recording collects {@code jdk.VirtualThreadPinned} events; every connection checkout
+ * is slightly delayed so a lookup that parks inside a monitor is caught. Skipped on older JREs.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "app.security.principal-cache.enabled=false",
+        "app.security.login-audit.enabled=false"
+})
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final long DB_LATENCY_MILLIS = 2;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OpaqueTokenStore opaqueTokenStore;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void authPath_doesNotPinVirtualThreads() throws Exception {
+        List<RecordedEvent> pinned = record(() -> {
+            List<String> opaqueTokens = issueOpaqueTokensOnVirtualThreads();
+            exercise(opaqueTokens);
+        });
+
+        assertThat(pinned)
+                .as("virtual threads pinned on the auth path:%n%s", describe(pinned))
+                .isEmpty();
+    }
+
+    private List<RecordedEvent> record(ThrowingRunnable workload) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Opaque handles are only issued at login in opaque mode, so issue some directly on virtual
+    // threads; the filter accepts both formats. Reflection keeps this compiling on Java 17.
+    private List<String> issueOpaqueTokensOnVirtualThreads() throws Exception {
+        User bob = userRepository.findByUsernameIgnoreCase("bob").orElseThrow();
+        Method startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+
+        List<String> tokens = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Runnable issue = () -> tokens.add(opaqueTokenStore.issue(bob));
+            threads.add((Thread) startVirtualThread.invoke(null, issue));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(tokens).hasSize(CLIENTS);
+        return tokens;
+    }
+
+    private void exercise(List<String> opaqueTokens) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                String username = i % 2 == 0 ? "alice" : "bob";
+                String opaqueToken = opaqueTokens.get(i);
+                results.add(clients.submit(() -> {
+                    for (int n = 0; n < REQUESTS_PER_CLIENT; n++) {
+                        assertThat(me(SecurityTestSupport.login(client, port, username))).isEqualTo(200);
+                        assertThat(me(opaqueToken)).isEqualTo(200);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private int me(String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/user/me"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        return this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String describe(List<RecordedEvent> pinned) {
+        return pinned.stream()
+                .limit(5)
+                .map(VirtualThreadPinningTest::stackOf)
+                .collect(Collectors.joining(System.lineSeparator() + "  ---" + System.lineSeparator()));
+    }
+
+    private static String stackOf(RecordedEvent event) {
+        if (event.getStackTrace() == null) return "    <no stack trace>";
+
+        return event.getStackTrace().getFrames().stream()
+                .limit(15)
+                .map(RecordedFrame::getMethod)
+                .map(method -> "    at " + method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SlowDatabase {
+
+        @Bean
+        static BeanPostProcessor slowConnections() {
+            return SecurityTestSupport.slowConnections(() -> DB_LATENCY_MILLIS);
+        }
+    }
+}
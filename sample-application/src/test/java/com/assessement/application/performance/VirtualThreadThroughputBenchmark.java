@@ -0,0 +1,129 @@
+package com.assessement.application.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.assessement.application.SampleApplication;
+import com.assessement.application.support.SecurityTestSupport;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compares request throughput of the platform-thread and virtual-thread execution modes while
+ * every database connection checkout is delayed, the situation in which a small Tomcat pool runs
+ * out of threads. Throughput depends on the machine, so the class is tagged {@code benchmark} and
+ * only runs with the {@code benchmark} profile on Java 21:
+ * <pre>
+ * mvn -Pjava21,benchmark test
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@Slf4j
+class VirtualThreadThroughputBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int PLATFORM_THREADS = 8;
+    private static final long DB_LATENCY_MILLIS = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void virtualThreads_outperformSmallPlatformPoolUnderDatabaseLatency() throws Exception {
+        double platform = measure(false);
+        double virtual = measure(true);
+
+        String figures = String.format("/api/user/me with %d ms connection latency, %d clients: "
+                        + "platform threads (max %d) %.1f req/s, virtual threads %.1f req/s",
+                DB_LATENCY_MILLIS, CLIENTS, PLATFORM_THREADS, platform, virtual);
+        log.info(figures);
+
+        assertThat(virtual).describedAs(figures).isGreaterThan(platform);
+    }
+
+    private double measure(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SampleApplication.class, SlowDatabase.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:vt-benchmark-" + virtualThreads,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "server.tomcat.threads.min-spare=" + PLATFORM_THREADS,
+                        "spring.datasource.hikari.maximum-pool-size=" + CLIENTS,
+                        "app.security.principal-cache.enabled=false",
+                        "app.security.login-audit.enabled=false",
+                        "app.security.warmup.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.assessement.application.performance=INFO")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = SecurityTestSupport.login(this.client, port, "bob");
+
+            run(port, token, WARMUP);
+            return run(port, token, MEASUREMENT) / (MEASUREMENT.toMillis() / 1000.0);
+        }
+    }
+
+    private long run(int port, String token, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/user/me"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    long completed = 0;
+                    while (!stop.get()) {
+                        if (this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            completed++;
+                        }
+                    }
+                    return completed;
+                }));
+            }
+
+            Thread.sleep(duration.toMillis());
+            stop.set(true);
+
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class SlowDatabase {
+
+        @Bean
+        static BeanPostProcessor slowConnections() {
+            return SecurityTestSupport.slowConnections(() -> DB_LATENCY_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.assessement.application.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.assessement.starter.config.security.UserLookupProperties;
+import com.assessement.starter.resilience.UserLookupCircuitBreaker;
+import com.assessement.starter.resilience.UserLookupCircuitBreaker.State;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserLookupCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private UserLookupCircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        UserLookupProperties.CircuitBreaker properties = new UserLookupProperties.CircuitBreaker();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallThreshold(Duration.ofMillis(100));
+        properties.setSlowCallRateThreshold(0.75);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        breaker = new UserLookupCircuitBreaker(properties, clock::get);
+    }
+
+    @Test
+    void opensOnceFailureRateReachesThreshold() {
+        call(false, FAST);
+        call(true, FAST);
+        call(false, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        call(true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getTimesOpened()).isEqualTo(1);
+    }
+
+    @Test
+    void opensOnSlowCallsEvenWithoutErrors() {
+        for (int i = 0; i < 3; i++) call(false, SLOW);
+        call(false, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void failureRateIsMeasuredOverTheWindowOnly() {
+        for (int i = 0; i < 20; i++) call(false, FAST);
+
+        for (int i = 0; i < 4; i++) call(true, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        call(true, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopenTheBreaker() {
+        for (int i = 0; i < 4; i++) call(true, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.record(false, SLOW);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.record(false, FAST);
+        breaker.record(false, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private void call(boolean failed, long elapsed) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.record(failed, elapsed);
+    }
+}
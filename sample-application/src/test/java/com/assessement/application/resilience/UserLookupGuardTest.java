@@ -0,0 +1,187 @@
+package com.assessement.application.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.assessement.starter.config.security.UserLookupProperties;
+import com.assessement.starter.resilience.UserLookupCircuitBreaker;
+import com.assessement.starter.resilience.UserLookupCircuitBreaker.State;
+import com.assessement.starter.resilience.UserLookupGuard;
+import com.assessement.starter.resilience.UserLookupUnavailableException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class UserLookupGuardTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private UserLookupGuard guard;
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+        if (guard != null) guard.destroy();
+    }
+
+    @Test
+    void platformPool_rejectsWhenQueueIsFull() throws Exception {
+        guard = guard(false, Duration.ofSeconds(5), new UserLookupCircuitBreaker(properties(Duration.ofSeconds(5))));
+
+        // threads = 1 and queue-capacity = 1: one lookup running, one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> running = callers.submit(() -> guard.call(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread queuedCaller = new Thread(() -> guard.call(() -> "queued"));
+        queuedCaller.start();
+        awaitWaiting(queuedCaller);
+
+        long rejected = guard.getRejectedCount();
+        AtomicBoolean invoked = new AtomicBoolean();
+        assertThatThrownBy(() -> guard.call(() -> invoked.getAndSet(true)))
+                .isInstanceOf(UserLookupUnavailableException.class)
+                .hasMessageContaining("too many lookups");
+        assertThat(invoked).isFalse();
+        assertThat(guard.getRejectedCount()).isEqualTo(rejected + 1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        queuedCaller.join(5_000);
+        assertThat(guard.call(() -> "after")).isEqualTo("after");
+    }
+
+    @Test
+    void slowLookup_timesOutAndIsInterrupted() throws Exception {
+        guard = guard(false, Duration.ofMillis(100), new UserLookupCircuitBreaker(properties(Duration.ofMillis(100))));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> guard.call(() -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }))
+                .isInstanceOf(UserLookupUnavailableException.class)
+                .hasMessageContaining("timed out");
+
+        assertThat(guard.getTimedOutCount()).isEqualTo(1);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void failingLookups_openTheBreakerUntilAProbeSucceeds() {
+        AtomicLong clock = new AtomicLong();
+        UserLookupProperties.CircuitBreaker breakerProperties = new UserLookupProperties.CircuitBreaker();
+        breakerProperties.setWindowSize(5);
+        breakerProperties.setMinimumCalls(3);
+        breakerProperties.setOpenDuration(Duration.ofSeconds(10));
+        breakerProperties.setHalfOpenCalls(1);
+        guard = guard(false, Duration.ofSeconds(5), new UserLookupCircuitBreaker(breakerProperties, clock::get));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw new IllegalStateException("database down");
+            })).isInstanceOf(UserLookupUnavailableException.class);
+        }
+        assertThat(guard.getCircuitState()).isEqualTo(State.OPEN);
+
+        AtomicBoolean invoked = new AtomicBoolean();
+        assertThatThrownBy(() -> guard.call(() -> invoked.getAndSet(true)))
+                .isInstanceOf(UserLookupUnavailableException.class)
+                .hasMessageContaining("circuit breaker is open");
+        assertThat(invoked).isFalse();
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(guard.call(() -> "probe")).isEqualTo("probe");
+        assertThat(guard.getCircuitState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreadMode_runsLookupsOnVirtualThreadsBehindBulkhead() throws Exception {
+        guard = guard(true, Duration.ofSeconds(5), new UserLookupCircuitBreaker(properties(Duration.ofSeconds(5))));
+        assertThat(guard.call(UserLookupGuardTest::isVirtual)).isTrue();
+
+        // threads = 1 and queue-capacity = 1: the bulkhead admits two lookups in flight
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Boolean>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            inFlight.add(callers.submit(() -> guard.call(() -> {
+                started.countDown();
+                await(release);
+                return isVirtual();
+            })));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long rejected = guard.getRejectedCount();
+        assertThatThrownBy(() -> guard.call(() -> true)).isInstanceOf(UserLookupUnavailableException.class);
+        assertThat(guard.getRejectedCount()).isEqualTo(rejected + 1);
+
+        release.countDown();
+        for (Future<Boolean> lookup : inFlight) {
+            assertThat(lookup.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(guard.call(() -> "after")).isEqualTo("after");
+    }
+
+    private static UserLookupGuard guard(boolean virtualThreads, Duration timeout, UserLookupCircuitBreaker breaker) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        return new UserLookupGuard(properties(timeout), breaker, mock(PlatformTransactionManager.class), environment);
+    }
+
+    private static UserLookupProperties properties(Duration timeout) {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeout(timeout);
+        return properties;
+    }
+
+    // a caller parks in the timed Future.get only after its lookup was accepted by the pool
+    private static void awaitWaiting(Thread caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(caller.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+    }
+
+    private static boolean isVirtual() {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.assessement.application.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.assessement.application.support.SecurityTestSupport;
+import com.assessement.starter.cache.PrincipalCache;
+import com.assessement.starter.cache.PrincipalInvalidationPoller;
+import com.assessement.starter.config.security.JwtService;
+import com.assessement.starter.config.security.UserLookupProperties;
+import com.assessement.starter.model.User;
+import com.assessement.starter.model.UserPrincipal;
+import com.assessement.starter.repository.UserRepository;
+import com.assessement.starter.resilience.UserLookupCircuitBreaker;
+import com.assessement.starter.resilience.UserLookupCircuitBreaker.State;
+import com.assessement.starter.resilience.UserLookupGuard;
+import com.assessement.starter.service.UserAdministrationService;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Drives authenticated requests while connection checkouts are artificially delayed. The principal
+ * cache is off so every request goes through the guarded lookup. The circuit breaker runs on a
+ * test clock, so nothing here depends on how long a request takes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lookup-resilience",
+        "app.security.principal-cache.enabled=false",
+        "app.security.principal-cache.poll-interval=1h",
+        "app.security.login-audit.enabled=false",
+        "app.security.user-lookup.timeout=200ms"
+})
+@AutoConfigureMockMvc
+class UserLookupResilienceTest {
+
+    private static final AtomicLong CONNECTION_LATENCY_MILLIS = new AtomicLong();
+    private static final AtomicLong CLOCK = new AtomicLong();
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    @TestBean
+    private UserLookupCircuitBreaker userLookupCircuitBreaker;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserLookupGuard userLookupGuard;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private PrincipalInvalidationPoller poller;
+
+    static UserLookupCircuitBreaker userLookupCircuitBreaker() {
+        UserLookupProperties.CircuitBreaker properties = new UserLookupProperties.CircuitBreaker();
+        properties.setWindowSize(5);
+        properties.setMinimumCalls(3);
+        properties.setOpenDuration(OPEN_DURATION);
+        properties.setHalfOpenCalls(1);
+        return new UserLookupCircuitBreaker(properties, CLOCK::get);
+    }
+
+    @AfterEach
+    void restore() {
+        CONNECTION_LATENCY_MILLIS.set(0);
+    }
+
+    @Test
+    void slowDatabase_servesStalePrincipalsAndRecovers() throws Exception {
+        String bob = token("bob");
+        String alice = token("alice");
+        perform(bob, status().isOk());
+
+        CONNECTION_LATENCY_MILLIS.set(2_000);
+
+        long timedOut = userLookupGuard.getTimedOutCount();
+        long staleServed = userLookupGuard.getStaleServedCount();
+        perform(bob, status().isOk());
+        assertThat(userLookupGuard.getTimedOutCount()).isEqualTo(timedOut + 1);
+        assertThat(userLookupGuard.getStaleServedCount()).isEqualTo(staleServed + 1);
+
+        for (int i = 0; i < 3; i++) {
+            perform(bob, status().isOk());
+        }
+        assertThat(userLookupGuard.getCircuitState()).isEqualTo(State.OPEN);
+
+        // an open breaker answers without waiting for the deadline
+        timedOut = userLookupGuard.getTimedOutCount();
+        long rejected = userLookupGuard.getRejectedCount();
+        perform(bob, status().isOk());
+        assertThat(userLookupGuard.getRejectedCount()).isEqualTo(rejected + 1);
+        assertThat(userLookupGuard.getTimedOutCount()).isEqualTo(timedOut);
+        assertThat(userLookupGuard.getStaleServedCount()).isEqualTo(staleServed + 5);
+
+        // never loaded before the outage, so there is nothing to fall back to
+        perform(alice, status().isServiceUnavailable());
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"alice\",\"password\":\"password123\"}"))
+                .andExpect(status().isServiceUnavailable());
+
+        CONNECTION_LATENCY_MILLIS.set(0);
+        CLOCK.addAndGet(OPEN_DURATION.toNanos());
+
+        perform(alice, status().isOk());
+        assertThat(userLookupGuard.getCircuitState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void evictedPrincipal_isNotServedStale() {
+        User bob = userRepository.findByUsernameIgnoreCase("bob").orElseThrow();
+        principalCache.put("bob", bob, principalCache.generation("bob"));
+        assertThat(principalCache.lastKnown("BOB"))
+                .isInstanceOf(UserPrincipal.class)
+                .extracting(UserDetails::getUsername).isEqualTo("bob");
+
+        principalCache.evict("bob");
+
+        assertThat(principalCache.lastKnown("bob")).isNull();
+    }
+
+    @Test
+    void lockedUser_isNotServedStaleWithCacheDisabled() throws Exception {
+        assertThat(poller.isRunning()).isTrue();
+        perform(token("bob"), status().isOk());
+        assertThat(principalCache.lastKnown("bob")).isNotNull();
+
+        try {
+            userAdministrationService.setLocked("bob", true);
+            poller.poll();
+
+            assertThat(principalCache.lastKnown("bob")).isNull();
+        } finally {
+            userAdministrationService.setLocked("bob", false);
+            poller.poll();
+        }
+    }
+
+    private String token(String username) {
+        User user = userRepository.findByUsernameIgnoreCase(username).orElseThrow();
+        return "Bearer " + jwtService.generateAccessToken(user);
+    }
+
+    private void perform(String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get("/api/user/me").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(expected);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SlowConnections {
+
+        @Bean
+        static BeanPostProcessor slowDataSource() {
+            return SecurityTestSupport.slowConnections(CONNECTION_LATENCY_MILLIS::get);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.assessement.application.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.assessement.starter.config.security.JwtProperties;
+import com.assessement.starter.config.security.JwtService;
+import com.assessement.starter.config.security.JwtTokenIssuer;
+import com.assessement.starter.model.Role;
+import com.assessement.starter.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwtTokenIssuerTest {
+
+    private static final String SECRET = "mQ8vR1tU9xAaF7sKd2LpW4zXe6YhN3jC0oVbQ5gTf8MiR2kS1JwL7nZ9XcB4hTq";
+
+    private JwtProperties jwtProperties;
+    private JwtTokenIssuer jwtTokenIssuer;
+
+    @BeforeEach
+    void setup() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpiration(86400000);
+        jwtTokenIssuer = new JwtTokenIssuer(jwtProperties);
+    }
+
+    @Test
+    void issue_matchesJjwtBuilderByteForByte() {
+        User user = User.builder()
+                .id(42)
+                .username("zoë \"quoted\"\n😀")
+                .roles(List.of(Role.builder().name("ADMIN").build(), Role.builder().name("USER").build()))
+                .build();
+        long now = 1_760_000_123_456L;
+
+        String expected = Jwts.builder()
+                .claim("username", user.getUsername())
+                .claim("userId", user.getId())
+                .claim("roles", List.of("ROLE_ADMIN", "ROLE_USER"))
+                .claim("expiry", jwtProperties.getExpiration())
+                .setSubject(user.getUsername())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + jwtProperties.getExpiration()))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtTokenIssuer.issue(user, now)).isEqualTo(expected);
+    }
+
+    @Test
+    void issue_producesTokenAcceptedByJwtService() {
+        JwtService jwtService = new JwtService(jwtProperties, jwtTokenIssuer);
+        User user = User.builder()
+                .id(1)
+                .username("alice")
+                .roles(List.of(Role.builder().name("ADMIN").build()))
+                .build();
+
+        String token = jwtService.generateAccessToken(user);
+
+        assertThat(jwtService.isTokenValid(token)).isTrue();
+        assertThat(jwtService.extractUsernameFromToken(token)).isEqualTo("alice");
+
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        assertThat(claims.get("userId", Integer.class)).isEqualTo(1);
+        assertThat(claims.get("roles", List.class)).containsExactly("ROLE_ADMIN");
+        assertThat(claims.get("expiry", Long.class)).isEqualTo(86400000L);
+    }
+
+    @Test
+    void constructor_rejectsSecretShorterThan256Bits() {
+        JwtProperties weak = new JwtProperties();
+        weak.setSecret("too-short-for-hs256");
+        weak.setExpiration(86400000);
+
+        assertThatThrownBy(() -> new JwtTokenIssuer(weak)).isInstanceOf(WeakKeyException.class);
+    }
+
+    @Test
+    void issue_isSafeUnderConcurrentUse() throws Exception {
+        long now = 1_760_000_123_456L;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                User user = User.builder()
+                        .id(i)
+                        .username("user-" + i)
+                        .roles(List.of(Role.builder().name("USER").build()))
+                        .build();
+                String expected = new JwtTokenIssuer(jwtProperties).issue(user, now);
+                results.add(executor.submit(() -> {
+                    for (int n = 0; n < 200; n++) {
+                        if (!jwtTokenIssuer.issue(user, now).equals(expected)) return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.assessement.application.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.assessement.starter.cache.PrincipalInvalidationPoller;
+import com.assessement.starter.config.security.OpaqueTokenRejectedException;
+import com.assessement.starter.config.security.OpaqueTokenStore;
+import com.assessement.starter.config.security.TokenProperties;
+import com.assessement.starter.model.Role;
+import com.assessement.starter.model.User;
+import com.assessement.starter.service.UserAdministrationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// The principal cache is off: opaque-token revocation must not depend on it.
+@SpringBootTest(properties = {
+        "app.security.token.mode=opaque",
+        "app.security.principal-cache.enabled=false",
+        "app.security.principal-cache.poll-interval=1h"
+})
+@AutoConfigureMockMvc
+class OpaqueTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private PrincipalInvalidationPoller poller;
+
+    @Test
+    void login_issuesOpaqueTokenAcceptedByFilter() throws Exception {
+        String token = login("alice");
+
+        assertThat(token).startsWith(OpaqueTokenStore.PREFIX).doesNotContain(".");
+
+        mockMvc.perform(get("/api/admin/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void roleChange_revokesOpaqueTokens() throws Exception {
+        assertThat(poller.isRunning()).isTrue();
+        String token = login("bob");
+        mockMvc.perform(get("/api/user/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        try {
+            userAdministrationService.revokeRole("bob", "USER");
+            poller.poll();
+
+            mockMvc.perform(get("/api/user/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isUnauthorized());
+        } finally {
+            userAdministrationService.assignRole("bob", "USER");
+            poller.poll();
+        }
+    }
+
+    @Test
+    void expiredTokens_areNotReturnedAndGetSwept() throws Exception {
+        TokenProperties properties = new TokenProperties();
+        properties.getOpaque().setTtl(Duration.ofMillis(1));
+        properties.getOpaque().setShards(3);
+        OpaqueTokenStore store = new OpaqueTokenStore(properties);
+
+        String token = store.issue(user("carol"));
+        Thread.sleep(5);
+
+        assertThat(store.sweepExpired()).isEqualTo(1);
+        assertThat(store.lookup(token)).isNull();
+    }
+
+    @Test
+    void revokeUsers_dropsOnlyThatUsersTokens() {
+        OpaqueTokenStore store = new OpaqueTokenStore(new TokenProperties());
+        String carol1 = store.issue(user("carol"));
+        String carol2 = store.issue(user("Carol"));
+        String dave = store.issue(user("dave"));
+
+        store.revokeUsers(List.of("CAROL"));
+
+        assertThat(store.lookup(carol1)).isNull();
+        assertThat(store.lookup(carol2)).isNull();
+        assertThat(store.lookup(dave)).isNotNull();
+        assertThat(store.size()).isEqualTo(1);
+
+        store.revoke(dave);
+        String carol3 = store.issue(user("carol"));
+        store.revokeUsers(List.of("dave"));
+        assertThat(store.lookup(carol3)).isNotNull();
+    }
+
+    @Test
+    void issue_refusesTokenWhenUserIsRevokedAfterTheEpochWasRead() {
+        OpaqueTokenStore store = new OpaqueTokenStore(new TokenProperties());
+        long epoch = store.revocationEpoch("carol");
+
+        store.revokeUsers(List.of("Carol"));
+
+        assertThatThrownBy(() -> store.issue(user("carol"), epoch))
+                .isInstanceOf(OpaqueTokenRejectedException.class);
+        assertThat(store.size()).isZero();
+        assertThat(store.lookup(store.issue(user("carol"), store.revocationEpoch("carol")))).isNotNull();
+    }
+
+    @Test
+    void fullShard_onlyEvictsExpiredTokens() throws Exception {
+        TokenProperties properties = new TokenProperties();
+        properties.getOpaque().setShards(1);
+        properties.getOpaque().setMaxEntriesPerShard(2);
+        OpaqueTokenStore live = new OpaqueTokenStore(properties);
+        String first = live.issue(user("carol"));
+        String second = live.issue(user("dave"));
+
+        assertThatThrownBy(() -> live.issue(user("erin"))).isInstanceOf(OpaqueTokenRejectedException.class);
+        assertThat(live.lookup(first)).isNotNull();
+        assertThat(live.lookup(second)).isNotNull();
+
+        properties.getOpaque().setTtl(Duration.ofMillis(1));
+        OpaqueTokenStore expiring = new OpaqueTokenStore(properties);
+        expiring.issue(user("carol"));
+        expiring.issue(user("dave"));
+        Thread.sleep(5);
+
+        assertThat(expiring.lookup(expiring.issue(user("erin")))).isNotNull();
+        assertThat(expiring.size()).isEqualTo(1);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .enabled(true)
+                .roles(List.of(Role.builder().name("USER").build()))
+                .build();
+    }
+
+    private String login(String username) throws Exception {
+        String body = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("access_token").asText();
+    }
+}
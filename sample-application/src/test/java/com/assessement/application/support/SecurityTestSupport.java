@@ -0,0 +1,66 @@
+package com.assessement.application.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/** Helpers shared by tests that drive the application over HTTP or slow its database down. */
+public final class SecurityTestSupport {
+
+    public static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private SecurityTestSupport() {
+    }
+
+    /**
+     * Wraps every {@link DataSource} so each connection checkout first sleeps for
+     * {@code latencyMillis}, read on every checkout so tests can change it while running.
+     * Register it from a static {@code @Bean} method.
+     */
+    public static BeanPostProcessor slowConnections(LongSupplier latencyMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) return bean;
+
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        try {
+                            Thread.sleep(latencyMillis.getAsLong());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new SQLException("Interrupted while waiting for a connection", e);
+                        }
+                        return super.getConnection();
+                    }
+                };
+            }
+        };
+    }
+
+    /** Logs in over HTTP with the seeded password and returns the access token. */
+    public static String login(HttpClient client, int port, String username) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ACCESS_TOKEN.matcher(body);
+        assertThat(matcher.find()).as("login response %s", body).isTrue();
+        return matcher.group(1);
+    }
+}
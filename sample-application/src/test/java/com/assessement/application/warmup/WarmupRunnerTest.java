@@ -0,0 +1,84 @@
+package com.assessement.application.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+
+import com.assessement.starter.warmup.WarmupRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockReset;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+@SpringBootTest(properties = {
+        "app.security.warmup.enabled=true",
+        "app.security.warmup.token-iterations=50",
+        "app.security.warmup.password-iterations=1",
+        "app.security.warmup.lookup-iterations=10"
+})
+class WarmupRunnerTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private ReadinessRecorder readinessRecorder;
+
+    // warm-up runs once at startup, so its invocations must survive the reset after each test
+    @MockitoSpyBean(reset = MockReset.NONE)
+    private UserDetailsService userDetailsService;
+
+    @Test
+    void readiness_isOnlyAcceptedAfterWarmupCompletes() {
+        assertThat(warmupRunner.getDurationMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+        assertThat(readinessRecorder.warmupDurationsWhenAccepted).hasSize(1);
+        assertThat(readinessRecorder.warmupDurationsWhenAccepted.get(0)).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void lookups_areWarmedThroughUserDetailsService() {
+        // two threads, ten iterations each
+        verify(userDetailsService, atLeast(20)).loadUserByUsername("warmup");
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ReadinessRecorder readinessRecorder(ObjectProvider<WarmupRunner> warmupRunner) {
+            return new ReadinessRecorder(warmupRunner);
+        }
+    }
+
+    static class ReadinessRecorder implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+        private final ObjectProvider<WarmupRunner> warmupRunner;
+        private final List<Long> warmupDurationsWhenAccepted = new ArrayList<>();
+
+        ReadinessRecorder(ObjectProvider<WarmupRunner> warmupRunner) {
+            this.warmupRunner = warmupRunner;
+        }
+
+        @Override
+        public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                warmupDurationsWhenAccepted.add(warmupRunner.getObject().getDurationMillis());
+            }
+        }
+    }
+}